@@ -1,28 +1,45 @@
 import com.jfrog.bintray.gradle.*
+import me.champeau.gradle.*
 import java.util.*
 
 plugins {
     java
     maven
     id("com.jfrog.bintray").version("1.7")
+    id("me.champeau.gradle.jmh").version("0.4.4")
 }
 
 repositories {
     mavenCentral()
 }
 
-val sourceCompatibility = JavaVersion.VERSION_1_7
-val targetCompatibility = JavaVersion.VERSION_1_7
+configure<JavaPluginConvention> {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
 
 dependencies {
     compile("com.google.guava:guava:19.0")
     compile("com.fasterxml.jackson.core:jackson-databind:2.8.3")
     compile("com.fasterxml.jackson.dataformat:jackson-dataformat-yaml:2.8.3")
+    compile("com.fasterxml.jackson.dataformat:jackson-dataformat-smile:2.8.3")
+    compile("com.fasterxml.jackson.module:jackson-module-afterburner:2.8.3")
+    add("testCompile", project(":appconfigr-processor"))
+    add("jmh", project(":appconfigr-processor"))
     testCompile("junit:junit:4.12")
     testCompile("com.github.stefanbirkner:system-rules:1.16.0")
     testCompile("org.assertj:assertj-core:2.5.0")
 }
 
+configure<JMHPluginExtension> {
+    jmhVersion = "1.19"
+    fork = 1
+    warmupIterations = 5
+    iterations = 10
+    resultFormat = "JSON"
+    resultsFile = buildDir.resolve("reports/jmh/results.json")
+}
+
 configure<BintrayExtension> {
     user = if (project.hasProperty("bintrayUser")) project.property("bintrayUser").toString() else System.getenv("BINTRAY_USER")
     key = if (project.hasProperty("bintrayApiKey")) project.property("bintrayApiKey").toString() else System.getenv("BINTRAY_API_KEY")
@@ -0,0 +1,17 @@
+plugins {
+    java
+    maven
+}
+
+repositories {
+    mavenCentral()
+}
+
+configure<JavaPluginConvention> {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    compile("com.google.guava:guava:19.0")
+}
@@ -0,0 +1,592 @@
+package io.github.tommy1199.appconfigr.processor;
+
+import com.google.common.base.CaseFormat;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a {@code ConfigReader} for each class annotated with {@code AppConfig}. The generated reader reads the
+ * fields of the class directly from a streaming parser and assigns them through the fields or their setters, so
+ * neither the class is introspected nor its members are accessed by reflection at runtime.
+ * <p>
+ * The generated reader binds the same properties as Jackson with its default visibility: public fields, fields
+ * annotated with {@code @JsonProperty}, and fields with a public getter or with a setter, which is preferred like by
+ * Jackson. Classes which cannot be read like that without reflection, e.g. because of private setters, accessors
+ * without a field or unsupported Jackson annotations, are reported with a warning and left to Jackson.
+ */
+@SupportedAnnotationTypes(AppConfigProcessor.APP_CONFIG)
+public class AppConfigProcessor extends AbstractProcessor {
+    static final String APP_CONFIG = "io.github.tommy1199.appconfigr.AppConfig";
+    private static final String READER_SUFFIX = "_ConfigReader";
+    private static final String DEFAULT_CONFIG_SUFFIX = ".conf";
+    private static final String JACKSON_PACKAGE = "com.fasterxml.jackson.";
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+
+    private final List<String> constants = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        TypeElement appConfig = processingEnv.getElementUtils()
+                .getTypeElement(APP_CONFIG);
+        if (appConfig == null) {
+            return false;
+        }
+        for (Element element : round.getElementsAnnotatedWith(appConfig)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "Only classes can be annotated with @AppConfig");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            constants.clear();
+            Map<String, Property> properties = new LinkedHashMap<>();
+            Set<String> ignored = new LinkedHashSet<>();
+            if (collectProperties(type, properties, ignored)) {
+                try {
+                    write(type, properties.values(), ignored);
+                } catch (IOException e) {
+                    error(type, "The reader can not be written: " + e.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects the properties of the given class and its superclasses.
+     *
+     * @return {@code false} if the class cannot be read without reflection
+     */
+    private boolean collectProperties(TypeElement type, Map<String, Property> properties, Set<String> ignored) {
+        if (!isReadable(type)) {
+            return false;
+        }
+        Set<String> fieldNames = fieldNamesOf(type);
+        for (TypeElement current = type; current != null; current = superclassOf(current)) {
+            if (current != type && !current.getTypeParameters()
+                    .isEmpty()) {
+                return skip(type, "its superclass " + current + " has type parameters");
+            }
+            if (hasJacksonAnnotation(current) || hasJacksonAnnotatedMembers(current)) {
+                return skip(type, current + " uses Jackson annotations on the class, constructors or methods");
+            }
+            ExecutableElement accessor = accessorWithoutField(current, fieldNames);
+            if (accessor != null) {
+                return skip(type, "the accessor " + accessor + " has no field of the same name");
+            }
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getModifiers()
+                        .contains(Modifier.STATIC) || field.getModifiers()
+                        .contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                String name = propertyNameOf(field);
+                if (name == null) {
+                    return skip(type, "the field " + field + " uses Jackson annotations other than @JsonProperty " +
+                            "and @JsonIgnore");
+                }
+                ExecutableElement setter = setterOf(type, current, field);
+                boolean bound = setter != null || isBoundByJackson(type, current, field);
+                if (annotation(field, JSON_IGNORE) != null) {
+                    if (hasAnnotation(field, JSON_PROPERTY)) {
+                        return skip(type, "the field " + field + " is annotated with @JsonProperty and @JsonIgnore");
+                    }
+                    if (bound) {
+                        ignored.add(name);
+                    }
+                    continue;
+                }
+                if (properties.containsKey(name)) {
+                    continue;
+                }
+                if (!bound) {
+                    return skip(type, "the field " + field + " is neither public nor annotated with @JsonProperty " +
+                            "nor has accessors, so Jackson does not bind it");
+                }
+                String read = readExpression(setter == null ? field.asType() : setter.getParameters()
+                        .get(0)
+                        .asType());
+                String assignment = assignmentOf(type, field, setter, read);
+                if (read == null || assignment == null) {
+                    return skip(type, "the field " + field + " can not be assigned without reflection");
+                }
+                properties.put(name, new Property(name, assignment));
+            }
+        }
+        ignored.removeAll(properties.keySet());
+        return true;
+    }
+
+    private boolean isReadable(TypeElement type) {
+        Set<Modifier> modifiers = type.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE)) {
+            return skip(type, "it is abstract or private");
+        }
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL && (type.getNestingKind() != NestingKind.MEMBER ||
+                !modifiers.contains(Modifier.STATIC))) {
+            return skip(type, "it is no top level or static nested class");
+        }
+        if (!type.getTypeParameters()
+                .isEmpty()) {
+            return skip(type, "it has type parameters");
+        }
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        for (ExecutableElement constructor : constructors) {
+            if (constructor.getParameters()
+                    .isEmpty() && !constructor.getModifiers()
+                    .contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return skip(type, "it has no non-private constructor without parameters");
+    }
+
+    /**
+     * Returns the statement which assigns the read value through the setter or, without setter, directly to the
+     * field, or {@code null} if neither is accessible from the generated reader.
+     */
+    private String assignmentOf(TypeElement type, VariableElement field, ExecutableElement setter, String read) {
+        if (setter != null) {
+            return isAccessible(type, setter) ? "config." + setter.getSimpleName() + "(" + read + ");" : null;
+        }
+        if (!field.getModifiers()
+                .contains(Modifier.FINAL) && isAccessible(type, field)) {
+            return "config." + field.getSimpleName() + " = " + read + ";";
+        }
+        return null;
+    }
+
+    /**
+     * Returns the setter of the given field declared by the class or its superclasses up to the owner of the field,
+     * whatever its visibility, as Jackson detects setters of any visibility.
+     */
+    private ExecutableElement setterOf(TypeElement type, TypeElement owner, VariableElement field) {
+        String setterName = "set" + capitalize(field.getSimpleName()
+                .toString());
+        for (TypeElement current = type; current != null; current = superclassOf(current)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (method.getSimpleName()
+                        .contentEquals(setterName) && isSetter(method)) {
+                    return method;
+                }
+            }
+            if (current == owner) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether Jackson binds the given field without setter, which requires it to be public, annotated with
+     * {@code @JsonProperty} or to have a public getter.
+     */
+    private boolean isBoundByJackson(TypeElement type, TypeElement owner, VariableElement field) {
+        if (field.getModifiers()
+                .contains(Modifier.PUBLIC) || hasAnnotation(field, JSON_PROPERTY)) {
+            return true;
+        }
+        String suffix = capitalize(field.getSimpleName()
+                .toString());
+        for (TypeElement current = type; current != null; current = superclassOf(current)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                String name = method.getSimpleName()
+                        .toString();
+                if ((name.equals("get" + suffix) || name.equals("is" + suffix)) && isGetter(method) &&
+                        method.getModifiers()
+                                .contains(Modifier.PUBLIC)) {
+                    return true;
+                }
+            }
+            if (current == owner) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a setter or public getter of the given class which does not belong to one of the given fields, as
+     * Jackson would bind a property for it which the generated reader does not know, or {@code null} if there is
+     * none.
+     */
+    private ExecutableElement accessorWithoutField(TypeElement type, Set<String> fieldNames) {
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            String name = method.getSimpleName()
+                    .toString();
+            String suffix;
+            if (name.startsWith("set") && isSetter(method)) {
+                suffix = name.substring(3);
+            } else if (name.startsWith("get") && isGetter(method) && method.getModifiers()
+                    .contains(Modifier.PUBLIC)) {
+                suffix = name.substring(3);
+            } else if (name.startsWith("is") && isGetter(method) && method.getModifiers()
+                    .contains(Modifier.PUBLIC) && method.getReturnType()
+                    .getKind() == TypeKind.BOOLEAN) {
+                suffix = name.substring(2);
+            } else {
+                continue;
+            }
+            String impliedName = impliedNameOf(suffix);
+            if (suffix.isEmpty() || !fieldNames.contains(impliedName) || !capitalize(impliedName).equals(suffix)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isSetter(ExecutableElement method) {
+        return method.getParameters()
+                .size() == 1 && !method.getModifiers()
+                .contains(Modifier.STATIC);
+    }
+
+    private static boolean isGetter(ExecutableElement method) {
+        return method.getParameters()
+                .isEmpty() && method.getReturnType()
+                .getKind() != TypeKind.VOID && !method.getModifiers()
+                .contains(Modifier.STATIC);
+    }
+
+    /**
+     * Returns the names of the fields of the given class and its superclasses which can be bound.
+     */
+    private static Set<String> fieldNamesOf(TypeElement type) {
+        Set<String> names = new LinkedHashSet<>();
+        for (TypeElement current = type; current != null; current = superclassOf(current)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (!field.getModifiers()
+                        .contains(Modifier.STATIC) && !field.getModifiers()
+                        .contains(Modifier.TRANSIENT)) {
+                    names.add(field.getSimpleName()
+                            .toString());
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Returns the expression which reads a value of the given type from {@code parser} or {@code null} if the type
+     * is not supported.
+     */
+    private String readExpression(TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+                return "ConfigReaders.readInt(parser)";
+            case LONG:
+                return "ConfigReaders.readLong(parser)";
+            case DOUBLE:
+                return "ConfigReaders.readDouble(parser)";
+            case FLOAT:
+                return "ConfigReaders.readFloat(parser)";
+            case BOOLEAN:
+                return "ConfigReaders.readBoolean(parser)";
+            case BYTE:
+            case SHORT:
+            case CHAR:
+                return "parser.readValueAs(" + processingEnv.getTypeUtils()
+                        .boxedClass(processingEnv.getTypeUtils()
+                                .getPrimitiveType(type.getKind()))
+                        .getQualifiedName() + ".class)";
+            case ARRAY:
+                return "parser.readValueAs(" + processingEnv.getTypeUtils()
+                        .erasure(type) + ".class)";
+            case DECLARED:
+                return declaredReadExpression((DeclaredType) type);
+            default:
+                return null;
+        }
+    }
+
+    private String declaredReadExpression(DeclaredType type) {
+        TypeElement element = (TypeElement) type.asElement();
+        String name = element.getQualifiedName()
+                .toString();
+        switch (name) {
+            case "java.lang.String":
+                return "ConfigReaders.readString(parser)";
+            case "java.lang.Integer":
+                return "ConfigReaders.readBoxedInt(parser)";
+            case "java.lang.Long":
+                return "ConfigReaders.readBoxedLong(parser)";
+            case "java.lang.Double":
+                return "ConfigReaders.readBoxedDouble(parser)";
+            case "java.lang.Boolean":
+                return "ConfigReaders.readBoxedBoolean(parser)";
+            default:
+                break;
+        }
+        if (!type.getTypeArguments()
+                .isEmpty()) {
+            return "parser.readValueAs(" + constant("TypeReference<" + type + ">", "new TypeReference<" + type +
+                    ">() {}") + ")";
+        }
+        if (hasAnnotation(element, APP_CONFIG)) {
+            String readerName = readerNameOf(element);
+            return constant(readerName, "new " + readerName + "()") + ".read(parser)";
+        }
+        return "parser.readValueAs(" + name + ".class)";
+    }
+
+    /**
+     * Declares a constant of the reader, so the given value is created only once, and returns its name.
+     */
+    private String constant(String type, String value) {
+        String name = "CONSTANT_" + constants.size();
+        constants.add("private static final " + type + " " + name + " = " + value + ";");
+        return name;
+    }
+
+    private void write(TypeElement type, Iterable<Property> properties, Set<String> ignored) throws IOException {
+        String packageName = packageOf(type).getQualifiedName()
+                .toString();
+        String readerName = readerNameOf(type);
+        String simpleReaderName = readerName.substring(readerName.lastIndexOf('.') + 1);
+        String typeName = type.getQualifiedName()
+                .toString();
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createSourceFile(readerName, type)
+                .openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("import com.fasterxml.jackson.core.JsonParser;");
+            out.println("import com.fasterxml.jackson.core.JsonToken;");
+            out.println("import com.fasterxml.jackson.core.type.TypeReference;");
+            out.println("import io.github.tommy1199.appconfigr.ConfigReader;");
+            out.println("import io.github.tommy1199.appconfigr.ConfigReaders;");
+            out.println();
+            out.println("import java.io.IOException;");
+            out.println();
+            out.println("/**");
+            out.println(" * Reader for {@link " + typeName + "}, generated by AppConfigProcessor.");
+            out.println(" */");
+            out.println("public final class " + simpleReaderName + " implements ConfigReader<" + typeName + "> {");
+            for (String constant : constants) {
+                out.println("    " + constant);
+            }
+            out.println();
+            out.println("    @Override");
+            out.println("    public String fileName() {");
+            out.println("        return \"" + fileNameOf(type) + "\";");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public " + typeName + " read(JsonParser parser) throws IOException {");
+            out.println("        if (!ConfigReaders.startObject(parser, " + typeName + ".class)) {");
+            out.println("            return null;");
+            out.println("        }");
+            out.println("        " + typeName + " config = new " + typeName + "();");
+            out.println("        while (parser.nextToken() == JsonToken.FIELD_NAME) {");
+            out.println("            String field = parser.getCurrentName();");
+            out.println("            parser.nextToken();");
+            out.println("            switch (field) {");
+            for (Property property : properties) {
+                out.println("                case \"" + escape(property.name) + "\":");
+                out.println("                    " + property.assignment);
+                out.println("                    break;");
+            }
+            for (String name : ignored) {
+                out.println("                case \"" + escape(name) + "\":");
+                out.println("                    parser.skipChildren();");
+                out.println("                    break;");
+            }
+            out.println("                default:");
+            out.println("                    throw ConfigReaders.unknownField(parser, " + typeName + ".class, field);");
+            out.println("            }");
+            out.println("        }");
+            out.println("        return config;");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    /**
+     * Returns the name of the reader of the given class. Must match the lookup of {@code GeneratedReaders}.
+     */
+    private String readerNameOf(TypeElement type) {
+        String binaryName = processingEnv.getElementUtils()
+                .getBinaryName(type)
+                .toString();
+        int dot = binaryName.lastIndexOf('.');
+        return binaryName.substring(0, dot + 1) + binaryName.substring(dot + 1)
+                .replace('$', '_') + READER_SUFFIX;
+    }
+
+    /**
+     * Returns the file name derived from the class name, like {@code AppConfigr.toFileName(Class)}.
+     */
+    private static String fileNameOf(TypeElement type) {
+        return CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_HYPHEN, type.getSimpleName()
+                .toString()) + DEFAULT_CONFIG_SUFFIX;
+    }
+
+    /**
+     * Returns the name of the property of the given field or {@code null} if it uses unsupported annotations.
+     */
+    private String propertyNameOf(VariableElement field) {
+        for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+            String annotationName = nameOf(annotation);
+            if (annotationName.startsWith(JACKSON_PACKAGE) && !annotationName.equals(JSON_PROPERTY) &&
+                    !annotationName.equals(JSON_IGNORE)) {
+                return null;
+            }
+        }
+        AnnotationMirror property = annotation(field, JSON_PROPERTY);
+        if (property != null) {
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : property
+                    .getElementValues()
+                    .entrySet()) {
+                if (value.getKey()
+                        .getSimpleName()
+                        .contentEquals("value") && !value.getValue()
+                        .getValue()
+                        .toString()
+                        .isEmpty()) {
+                    return value.getValue()
+                            .getValue()
+                            .toString();
+                }
+            }
+        }
+        return field.getSimpleName()
+                .toString();
+    }
+
+    private boolean hasJacksonAnnotation(Element element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (nameOf(annotation).startsWith(JACKSON_PACKAGE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasJacksonAnnotatedMembers(TypeElement type) {
+        List<Element> members = new ArrayList<>();
+        members.addAll(ElementFilter.constructorsIn(type.getEnclosedElements()));
+        members.addAll(ElementFilter.methodsIn(type.getEnclosedElements()));
+        for (Element member : members) {
+            if (hasJacksonAnnotation(member)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        return annotation(element, annotationName) != null;
+    }
+
+    private static AnnotationMirror annotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (nameOf(annotation).equals(annotationName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static String nameOf(AnnotationMirror annotation) {
+        return ((TypeElement) annotation.getAnnotationType()
+                .asElement()).getQualifiedName()
+                .toString();
+    }
+
+    private boolean isAccessible(TypeElement type, Element member) {
+        Set<Modifier> modifiers = member.getModifiers();
+        return modifiers.contains(Modifier.PUBLIC) || !modifiers.contains(Modifier.PRIVATE) &&
+                packageOf(member).equals(packageOf(type));
+    }
+
+    private PackageElement packageOf(Element element) {
+        return processingEnv.getElementUtils()
+                .getPackageOf(element);
+    }
+
+    private static TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName()
+                .contentEquals("java.lang.Object") ? null : element;
+    }
+
+    private static String capitalize(String name) {
+        return name.isEmpty() ? name : Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Returns the property name Jackson derives from the name of an accessor without its prefix, which lower cases
+     * all leading upper case letters, e.g. {@code url} for {@code getURL}.
+     */
+    private static String impliedNameOf(String suffix) {
+        StringBuilder name = new StringBuilder(suffix);
+        for (int i = 0; i < name.length() && Character.isUpperCase(name.charAt(i)); i++) {
+            name.setCharAt(i, Character.toLowerCase(name.charAt(i)));
+        }
+        return name.toString();
+    }
+
+    private static String escape(String name) {
+        return name.replace("\\", "\\\\")
+                .replace("\"", "\\\"");
+    }
+
+    private boolean skip(TypeElement type, String reason) {
+        processingEnv.getMessager()
+                .printMessage(Diagnostic.Kind.WARNING, "No reader is generated for " + type + ", because " + reason +
+                        ". It is bound by Jackson instead.", type);
+        return false;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager()
+                .printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static class Property {
+        private final String name;
+        private final String assignment;
+
+        private Property(String name, String assignment) {
+            this.name = name;
+            this.assignment = assignment;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares binding through {@link ObjectMapper#readValue(String, Class)}, a cached {@link ObjectReader}, a cached
+ * reader with bytecode generated property access and the {@link ConfigReader} generated at compile time for a small
+ * and a large configuration class.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BindingBenchmark {
+
+    @Param({"small", "large"})
+    public String classSize;
+
+    private Class<?> clazz;
+    private String content;
+    private ObjectMapper mapper;
+    private ObjectReader reader;
+    private ObjectReader afterburnerReader;
+    private ConfigReader<?> generatedReader;
+
+    @Setup
+    public void setUp() {
+        int fields = "small".equals(classSize) ? 4 : 32;
+        clazz = "small".equals(classSize) ? SmallPojoConfig.class : LargePojoConfig.class;
+        StringBuilder yaml = new StringBuilder();
+        for (int i = 0; i < fields; i++) {
+            yaml.append("field").append(i).append(": ").append(i).append('\n');
+        }
+        content = yaml.toString();
+        mapper = new ObjectMapper(new YAMLFactory());
+        reader = mapper.readerFor(clazz);
+        afterburnerReader = new ObjectMapper(new YAMLFactory()).registerModule(new AfterburnerModule())
+                .readerFor(clazz);
+        generatedReader = GeneratedReaders.of(clazz);
+    }
+
+    @Benchmark
+    public Object mapperReadValue() throws IOException {
+        return mapper.readValue(content, clazz);
+    }
+
+    @Benchmark
+    public Object cachedReader() throws IOException {
+        return reader.readValue(content);
+    }
+
+    @Benchmark
+    public Object cachedReaderWithAfterburner() throws IOException {
+        return afterburnerReader.readValue(content);
+    }
+
+    @Benchmark
+    public Object generatedReader() throws IOException {
+        try (JsonParser parser = mapper.getFactory()
+                .createParser(content)) {
+            return generatedReader.read(parser);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.tommy1199.appconfigr;
+
+import java.util.Map;
+
+/**
+ * Configuration class for the generated fixture files.
+ */
+public class EntriesConfig {
+    private Map<String, String> entries;
+
+    public Map<String, String> getEntries() {
+        return entries;
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.tommy1199.appconfigr;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolving a variable through fallback chains of different depths, where only the last resolver knows the
+ * variable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FallbackChainBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int depth;
+
+    private VariableResolver resolver;
+
+    @Setup
+    public void setUp() {
+        VariableResolver chain = new Fixtures.ConstantResolver();
+        for (int i = 1; i < depth; i++) {
+            chain = new Fixtures.MissingResolver().withFallback(chain);
+        }
+        resolver = chain;
+    }
+
+    @Benchmark
+    public String resolve() {
+        return resolver.get("some.variable");
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.tommy1199.appconfigr;
+
+import com.google.common.base.Charsets;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Generates the configuration files and contents used by the benchmarks.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * Converts a size like "1KB" or "50MB" to the number of bytes.
+     */
+    static int bytes(String size) {
+        if (size.endsWith("MB")) {
+            return Integer.parseInt(size.substring(0, size.length() - 2)) * 1024 * 1024;
+        }
+        if (size.endsWith("KB")) {
+            return Integer.parseInt(size.substring(0, size.length() - 2)) * 1024;
+        }
+        return Integer.parseInt(size);
+    }
+
+    /**
+     * Returns a yaml document with an {@code entries} map of at least the given size.
+     */
+    static String yaml(int targetBytes) {
+        StringBuilder content = new StringBuilder(targetBytes + 64).append("entries:\n");
+        for (int i = 0; content.length() < targetBytes; i++) {
+            content.append("  key").append(i).append(": value of entry number ").append(i).append('\n');
+        }
+        return content.toString();
+    }
+
+    /**
+     * Returns a json document with an {@code entries} map of at least the given size.
+     */
+    static String json(int targetBytes) {
+        StringBuilder content = new StringBuilder(targetBytes + 64).append("{\"entries\": {\n");
+        for (int i = 0; content.length() < targetBytes; i++) {
+            if (i > 0) {
+                content.append(",\n");
+            }
+            content.append("  \"key").append(i).append("\": \"value of entry number ").append(i).append('"');
+        }
+        return content.append("\n}}\n").toString();
+    }
+
+    /**
+     * Returns a yaml document of at least the given size containing exactly the given number of placeholders, which
+     * refer to at most 10 distinct variables.
+     */
+    static String withPlaceholders(int placeholders, int targetBytes) {
+        StringBuilder content = new StringBuilder(targetBytes + 64).append("entries:\n");
+        for (int i = 0; i < placeholders || content.length() < targetBytes; i++) {
+            content.append("  key").append(i).append(": ");
+            if (i < placeholders) {
+                content.append("${variable").append(i % 10).append('}');
+            } else {
+                content.append("plain value ").append(i);
+            }
+            content.append('\n');
+        }
+        return content.toString();
+    }
+
+    static Path write(Path directory, String fileName, String content) throws IOException {
+        return Files.write(directory.resolve(fileName), content.getBytes(Charsets.UTF_8));
+    }
+
+    /**
+     * Deletes the given directory with all files and subdirectories.
+     */
+    static void deleteRecursively(Path directory) throws IOException {
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                if (e != null) {
+                    throw e;
+                }
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Resolves every variable to a fixed value.
+     */
+    static class ConstantResolver extends VariableResolver {
+        @Override
+        Result resolve(String variableName) {
+            return Result.some("resolved value");
+        }
+    }
+
+    /**
+     * Resolves no variable at all.
+     */
+    static class MissingResolver extends VariableResolver {
+        @Override
+        Result resolve(String variableName) {
+            return Result.notResolvable(variableName, "benchmark");
+        }
+    }
+}
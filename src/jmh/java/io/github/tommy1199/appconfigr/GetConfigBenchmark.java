@@ -0,0 +1,58 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AppConfigr#getConfig(Class, String)} end to end for yaml and json files of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GetConfigBenchmark {
+
+    @Param({"yaml", "json"})
+    public String format;
+
+    @Param({"1KB", "64KB", "1MB", "50MB"})
+    public String size;
+
+    private Path directory;
+    private AppConfigr configr;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("appconfigr-benchmark");
+        int bytes = Fixtures.bytes(size);
+        boolean yaml = "yaml".equals(format);
+        Fixtures.write(directory, "entries-config.conf", yaml ? Fixtures.yaml(bytes) : Fixtures.json(bytes));
+        JsonFactory factory = yaml ? new YAMLFactory() : new JsonFactory();
+        configr = AppConfigr.fromDirectory(directory)
+                .withFactory(factory)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Fixtures.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public EntriesConfig getConfig() {
+        return configr.getConfig(EntriesConfig.class);
+    }
+}
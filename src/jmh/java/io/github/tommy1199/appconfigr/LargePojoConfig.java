@@ -0,0 +1,296 @@
+package io.github.tommy1199.appconfigr;
+
+/**
+ * Configuration class with many properties, used to measure the binding overhead per class size.
+ */
+@AppConfig
+public class LargePojoConfig {
+    private int field0;
+    private int field1;
+    private int field2;
+    private int field3;
+    private int field4;
+    private int field5;
+    private int field6;
+    private int field7;
+    private int field8;
+    private int field9;
+    private int field10;
+    private int field11;
+    private int field12;
+    private int field13;
+    private int field14;
+    private int field15;
+    private int field16;
+    private int field17;
+    private int field18;
+    private int field19;
+    private int field20;
+    private int field21;
+    private int field22;
+    private int field23;
+    private int field24;
+    private int field25;
+    private int field26;
+    private int field27;
+    private int field28;
+    private int field29;
+    private int field30;
+    private int field31;
+
+    public int getField0() {
+        return field0;
+    }
+
+    public void setField0(int field0) {
+        this.field0 = field0;
+    }
+
+    public int getField1() {
+        return field1;
+    }
+
+    public void setField1(int field1) {
+        this.field1 = field1;
+    }
+
+    public int getField2() {
+        return field2;
+    }
+
+    public void setField2(int field2) {
+        this.field2 = field2;
+    }
+
+    public int getField3() {
+        return field3;
+    }
+
+    public void setField3(int field3) {
+        this.field3 = field3;
+    }
+
+    public int getField4() {
+        return field4;
+    }
+
+    public void setField4(int field4) {
+        this.field4 = field4;
+    }
+
+    public int getField5() {
+        return field5;
+    }
+
+    public void setField5(int field5) {
+        this.field5 = field5;
+    }
+
+    public int getField6() {
+        return field6;
+    }
+
+    public void setField6(int field6) {
+        this.field6 = field6;
+    }
+
+    public int getField7() {
+        return field7;
+    }
+
+    public void setField7(int field7) {
+        this.field7 = field7;
+    }
+
+    public int getField8() {
+        return field8;
+    }
+
+    public void setField8(int field8) {
+        this.field8 = field8;
+    }
+
+    public int getField9() {
+        return field9;
+    }
+
+    public void setField9(int field9) {
+        this.field9 = field9;
+    }
+
+    public int getField10() {
+        return field10;
+    }
+
+    public void setField10(int field10) {
+        this.field10 = field10;
+    }
+
+    public int getField11() {
+        return field11;
+    }
+
+    public void setField11(int field11) {
+        this.field11 = field11;
+    }
+
+    public int getField12() {
+        return field12;
+    }
+
+    public void setField12(int field12) {
+        this.field12 = field12;
+    }
+
+    public int getField13() {
+        return field13;
+    }
+
+    public void setField13(int field13) {
+        this.field13 = field13;
+    }
+
+    public int getField14() {
+        return field14;
+    }
+
+    public void setField14(int field14) {
+        this.field14 = field14;
+    }
+
+    public int getField15() {
+        return field15;
+    }
+
+    public void setField15(int field15) {
+        this.field15 = field15;
+    }
+
+    public int getField16() {
+        return field16;
+    }
+
+    public void setField16(int field16) {
+        this.field16 = field16;
+    }
+
+    public int getField17() {
+        return field17;
+    }
+
+    public void setField17(int field17) {
+        this.field17 = field17;
+    }
+
+    public int getField18() {
+        return field18;
+    }
+
+    public void setField18(int field18) {
+        this.field18 = field18;
+    }
+
+    public int getField19() {
+        return field19;
+    }
+
+    public void setField19(int field19) {
+        this.field19 = field19;
+    }
+
+    public int getField20() {
+        return field20;
+    }
+
+    public void setField20(int field20) {
+        this.field20 = field20;
+    }
+
+    public int getField21() {
+        return field21;
+    }
+
+    public void setField21(int field21) {
+        this.field21 = field21;
+    }
+
+    public int getField22() {
+        return field22;
+    }
+
+    public void setField22(int field22) {
+        this.field22 = field22;
+    }
+
+    public int getField23() {
+        return field23;
+    }
+
+    public void setField23(int field23) {
+        this.field23 = field23;
+    }
+
+    public int getField24() {
+        return field24;
+    }
+
+    public void setField24(int field24) {
+        this.field24 = field24;
+    }
+
+    public int getField25() {
+        return field25;
+    }
+
+    public void setField25(int field25) {
+        this.field25 = field25;
+    }
+
+    public int getField26() {
+        return field26;
+    }
+
+    public void setField26(int field26) {
+        this.field26 = field26;
+    }
+
+    public int getField27() {
+        return field27;
+    }
+
+    public void setField27(int field27) {
+        this.field27 = field27;
+    }
+
+    public int getField28() {
+        return field28;
+    }
+
+    public void setField28(int field28) {
+        this.field28 = field28;
+    }
+
+    public int getField29() {
+        return field29;
+    }
+
+    public void setField29(int field29) {
+        this.field29 = field29;
+    }
+
+    public int getField30() {
+        return field30;
+    }
+
+    public void setField30(int field30) {
+        this.field30 = field30;
+    }
+
+    public int getField31() {
+        return field31;
+    }
+
+    public void setField31(int field31) {
+        this.field31 = field31;
+    }
+}
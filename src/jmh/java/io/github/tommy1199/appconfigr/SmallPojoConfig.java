@@ -0,0 +1,44 @@
+package io.github.tommy1199.appconfigr;
+
+/**
+ * Configuration class with few properties, used to measure the binding overhead per class size.
+ */
+@AppConfig
+public class SmallPojoConfig {
+    private int field0;
+    private int field1;
+    private int field2;
+    private int field3;
+
+    public int getField0() {
+        return field0;
+    }
+
+    public void setField0(int field0) {
+        this.field0 = field0;
+    }
+
+    public int getField1() {
+        return field1;
+    }
+
+    public void setField1(int field1) {
+        this.field1 = field1;
+    }
+
+    public int getField2() {
+        return field2;
+    }
+
+    public void setField2(int field2) {
+        this.field2 = field2;
+    }
+
+    public int getField3() {
+        return field3;
+    }
+
+    public void setField3(int field3) {
+        this.field3 = field3;
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.tommy1199.appconfigr;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures finding and replacing variables in contents of different sizes and with different numbers of placeholders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VariablesBenchmark {
+
+    @Param({"0", "10", "1000"})
+    public int placeholders;
+
+    @Param({"1KB", "1MB", "50MB"})
+    public String size;
+
+    private String content;
+    private VariableResolver resolver;
+
+    @Setup
+    public void setUp() {
+        content = Fixtures.withPlaceholders(placeholders, Fixtures.bytes(size));
+        resolver = new Fixtures.ConstantResolver();
+    }
+
+    @Benchmark
+    public String replaceVariables() {
+        return Variables.replace(content, resolver);
+    }
+
+    @Benchmark
+    public List<Variables.Expression> findVariables() {
+        return Variables.find(content);
+    }
+}
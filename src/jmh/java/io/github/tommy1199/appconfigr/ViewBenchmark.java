@@ -0,0 +1,70 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up a single int of a configuration with {@link ConfigView#getInt(String)} and with
+ * {@link JsonNode#at(String)} on the tree, with and without a precompiled pointer. Run with {@code -prof gc} to
+ * compare the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ViewBenchmark {
+
+    @Param({"10", "1000"})
+    public int sections;
+
+    private JsonNode tree;
+    private ConfigView view;
+    private String pointerText;
+    private JsonPointer pointer;
+    private String path;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder yaml = new StringBuilder();
+        for (int i = 0; i < sections; i++) {
+            yaml.append("section").append(i).append(":\n")
+                    .append("  maxConnections: ").append(i).append('\n')
+                    .append("  name: section").append(i).append('\n');
+        }
+        tree = new ObjectMapper(new YAMLFactory()).readTree(yaml.toString());
+        view = ConfigView.of(tree);
+        int last = sections - 1;
+        pointerText = "/section" + last + "/maxConnections";
+        pointer = JsonPointer.compile(pointerText);
+        path = "section" + last + ".maxConnections";
+    }
+
+    @Benchmark
+    public int viewGetInt() {
+        return view.getInt(path);
+    }
+
+    @Benchmark
+    public int treeAtString() {
+        return tree.at(pointerText)
+                .asInt();
+    }
+
+    @Benchmark
+    public int treeAtPointer() {
+        return tree.at(pointer)
+                .asInt();
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.tommy1199.appconfigr;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a configuration class for which a {@link ConfigReader} is generated at compile time. AppConfigr prefers the
+ * generated reader over Jackson's reflection based binding whenever it is present.
+ * <p>
+ * The class needs a non-private constructor without parameters. Each field must either be non-private or have a
+ * non-private setter. The only supported Jackson annotations are {@code @JsonProperty} and {@code @JsonIgnore} on
+ * fields, for all other classes no reader is generated and the class is bound by Jackson as before.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface AppConfig {
+}
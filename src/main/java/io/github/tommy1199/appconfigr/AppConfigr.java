@@ -1,20 +1,49 @@
 package io.github.tommy1199.appconfigr;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.google.common.base.CaseFormat;
-import com.google.common.base.Charsets;
 import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.CountingInputStream;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -22,17 +51,60 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public class AppConfigr {
 
+    private static final Logger LOGGER = Logger.getLogger(AppConfigr.class.getName());
     private static final String DEFAULT_CONFIG_SUFFIX = ".conf";
     private static final String USER_DIR = "user.dir";
     private static final String DEFAULT_SUB_DIRECTORY = "config";
-    private final Path basePath;
-    private ObjectMapper mapper;
+    private final ConfigSource source;
+    private final ConfigFormats formats;
+    private final Set<String> index;
     private VariableResolver resolver;
+    private final PlainLoadStrategy plain;
+    private final LoadStrategy strategy;
+    private final LoadStrategy sections;
+    private final ConfigCache cache;
+    private final long watchDebounceNanos;
+    private final Executor executor;
+    private final ConfigMetricsListener metricsListener;
+    private ConfigWatcher watcher;
 
-    private AppConfigr(Path basePath, ObjectMapper mapper, VariableResolver resolver) {
-        this.basePath = basePath;
-        this.mapper = mapper;
-        this.resolver = resolver;
+    private AppConfigr(Builder builder, ConfigFormats formats, Set<String> index) {
+        this.source = builder.source;
+        this.formats = formats;
+        this.index = index;
+        this.resolver = VariableResolver.namespaced(builder.namespaces, builder.resolver);
+        this.plain = new PlainLoadStrategy(source, formats, builder.streamingResolution);
+        this.strategy = strategyOf(builder, plain);
+        this.sections = strategy instanceof LayeredLoadStrategy ? strategy : new PlainLoadStrategy(source, formats,
+                true);
+        this.cache = builder.revalidationNanos < 0 ? null : new ConfigCache(builder.revalidationNanos,
+                this::changeStamp);
+        this.watchDebounceNanos = builder.watchDebounceNanos;
+        this.executor = builder.executor;
+        this.metricsListener = builder.metricsListener;
+        for (Class<?> clazz : builder.precompiledClasses) {
+            for (ConfigFormats.Format format : formats.all()) {
+                format.readerFor(clazz);
+            }
+        }
+    }
+
+    /**
+     * Returns the strategy of the mode set on the given builder. The builder rejects options of different modes, so
+     * at most one of them is set.
+     */
+    private static LoadStrategy strategyOf(Builder builder, PlainLoadStrategy plain) {
+        if (builder.hasOverlays()) {
+            return new LayeredLoadStrategy(builder.source, plain.formats, new ConfigLayers(builder.overlays,
+                    builder.systemPropertyOverlayPrefix));
+        }
+        if (builder.snapshotDirectory != null) {
+            return new SnapshotLoadStrategy(plain, new SnapshotStore(builder.snapshotDirectory));
+        }
+        if (builder.compiledTemplates) {
+            return new TemplateLoadStrategy(builder.source, plain.formats);
+        }
+        return plain;
     }
 
     /**
@@ -80,21 +152,38 @@ public class AppConfigr {
         return fromDirectory(defaultPath);
     }
 
+    /**
+     * Creates a new instance which reads all configuration files from the given source, e.g. from resources on the
+     * classpath with {@link ConfigSources#classpath(String)}.
+     *
+     * @param source the source of the configuration files
+     * @throws NullPointerException if the given source is {@code null}
+     */
+    public static Builder fromSource(ConfigSource source) {
+        return new Builder(checkNotNull(source, "The given source must not be null"));
+    }
+
     /**
      * Loads configuration data from a file name derived from the class name. If the config class is called MyConfig
      * .class the default file name is the lowercase hyphenated class name with the default file suffix, in this case
-     * my-config.conf.
+     * my-config.conf. With {@link Builder#withFormatDetection() format detection} the suffixes .yaml, .yml and .json
+     * are tried as well, if there is no file with the default suffix.
      *
      * @param clazz the class used for the mapping and for deriving the filename
      * @return the loaded configuration data
      * @throws IllegalArgumentException if the file cannot be found in the base path.
      */
     public <T> T getConfig(Class<T> clazz) {
-        return getConfig(clazz, toFileName(clazz));
+        return getConfig(clazz, fileNameOf(clazz));
     }
 
     /**
      * Loads configuration data from file with the given filename.
+     * <p>
+     * If the given class is an interface, an implementation of it is returned which keeps the resolved tree of the
+     * file and binds the value of each getter on its first call. Getters which return an interface are implemented
+     * the same way, so sections which are never used are never bound. Abstract methods must be getters without
+     * parameters, default methods are invoked as they are.
      *
      * @param clazz    the class used for the mapping
      * @param fileName the file name to be loaded
@@ -102,65 +191,833 @@ public class AppConfigr {
      * @throws IllegalArgumentException if the file cannot be found in the base path.
      */
     public <T> T getConfig(Class<T> clazz, String fileName) {
-        Path fullPath = getAbsoluteFilePath(fileName);
-        checkExists(fullPath);
+        return loadConfig(clazz, fileName, resolver);
+    }
+
+    /**
+     * Loads configuration data from a section of the file with the given filename. The section is addressed by a
+     * Json Pointer like {@code /services/routing}. The file is parsed as a stream, all other sections are skipped
+     * without being bound, so the time and memory needed scale with the size of the section.
+     * <p>
+     * Variables are resolved inside string values, like with {@link Builder#withStreamingResolution()}, and only in
+     * the loaded section. With overlays, the section is taken from the merged file instead, which is parsed as a
+     * whole. Interfaces are implemented like by {@link #getConfig(Class, String)}. Configurations loaded by this
+     * method are not cached, but reported to the metrics listener like all other loads.
+     *
+     * @param clazz       the class used for the mapping
+     * @param fileName    the file name to be loaded
+     * @param jsonPointer the pointer to the section to be loaded, an empty string addresses the whole file
+     * @return the loaded configuration data
+     * @throws IllegalArgumentException if the file cannot be found in the base path, the pointer is invalid or the
+     *                                  section cannot be found in the file.
+     */
+    public <T> T getConfig(Class<T> clazz, String fileName, String jsonPointer) {
+        JsonPointer pointer = JsonPointer.compile(checkNotNull(jsonPointer, "The given pointer must not be null"));
+        checkExists(fileName);
+        ConfigFile file = fileOf(fileName);
         T config = null;
         try {
-            config = createConfig(clazz, fullPath);
+            config = load(sections, file, clazz, resolver, sectionBinder(configBinder(clazz, file), fileName, pointer));
         } catch (IOException e) {
             Throwables.propagate(e);
         }
         return config;
     }
 
-    private <T> T createConfig(Class<T> clazz, Path fullPath) throws IOException {
-        String raw = readContent(fullPath);
-        String content = replaceVariables(raw);
-        return mapper.readValue(content, clazz);
+    /**
+     * Returns a binder which binds the section at the given pointer with the given binder.
+     */
+    private <T> ContentBinder<T> sectionBinder(final ContentBinder<T> binder, final String fileName,
+                                               final JsonPointer pointer) {
+        return new ContentBinder<T>() {
+            @Override
+            public T bind(JsonParser parser) throws IOException {
+                if (!JsonPointers.moveTo(parser, pointer)) {
+                    throw sectionNotFound(fileName, pointer);
+                }
+                return binder.bind(parser);
+            }
+
+            @Override
+            public T bind(JsonNode tree) throws IOException {
+                return binder.bind(sectionOf(tree, fileName, pointer));
+            }
+        };
     }
 
-    private String replaceVariables(String content) throws IOException {
-        String out = content;
-        List<Variables.Expression> variables = Variables.find(content);
-        for (Variables.Expression variable : variables) {
-            String value = resolver.get(variable.getValue());
-            out = out.replaceAll(Pattern.quote(variable.toString()), value);
+    private JsonNode sectionOf(JsonNode tree, String fileName, JsonPointer pointer) {
+        JsonNode section = tree.at(pointer);
+        if (section.isMissingNode()) {
+            throw sectionNotFound(fileName, pointer);
         }
-        return out;
+        return section;
     }
 
-    private String readContent(Path filePath) throws IOException {
-        byte[] allBytes = Files.readAllBytes(filePath);
-        return new String(allBytes, Charsets.UTF_8);
+    private IllegalArgumentException sectionNotFound(String fileName, JsonPointer pointer) {
+        return new IllegalArgumentException("The given pointer [" + pointer + "] can not be found in [" +
+                pathOf(fileName) + "]");
     }
 
-    private void checkExists(Path filePath) {
-        if (!Files.exists(filePath) || !Files.isRegularFile(filePath)) {
-            throw new IllegalArgumentException("The given file can not be found [" + filePath + "]");
+    /**
+     * Returns a view of the file with the given filename for lookups by dotted paths like
+     * {@code limits.maxConnections}, without binding it to a class. The lookups of the view do not allocate, so it
+     * can be used on hot paths. The view is not updated if the file changes.
+     *
+     * @param fileName the file name to be loaded
+     * @return an immutable view of the resolved configuration data
+     * @throws IllegalArgumentException if the file cannot be found in the base path.
+     * @throws ConfigurationException   if two values of the file have the same dotted path
+     */
+    public ConfigView getView(String fileName) {
+        checkExists(fileName);
+        ConfigView view = null;
+        try {
+            view = ConfigView.of(readTree(fileName, resolver));
+        } catch (IOException e) {
+            Throwables.propagate(e);
         }
+        return view;
+    }
+
+    /**
+     * Reads, resolves and parses the file with the given filename once and returns it as document, from which
+     * several classes can be bound by Json Pointers. This replaces one parse of a shared file per bound class:
+     * <pre>
+     * ConfigDocument document = configr.getDocument("shared.conf");
+     * DatabaseConfig database = document.get(DatabaseConfig.class, "/database");
+     * ServerConfig server = document.get(ServerConfig.class, "/server");
+     * </pre>
+     * The document is not updated if the file changes.
+     *
+     * @param fileName the file name to be loaded
+     * @return the resolved document
+     * @throws IllegalArgumentException if the file cannot be found in the base path.
+     */
+    public ConfigDocument getDocument(String fileName) {
+        checkExists(fileName);
+        ConfigDocument document = null;
+        try {
+            document = newDocument(fileName, readTree(fileName, resolver));
+        } catch (IOException e) {
+            Throwables.propagate(e);
+        }
+        return document;
+    }
+
+    /**
+     * Reads, resolves and parses a file with several documents, like yaml documents separated by {@code ---}, once
+     * and returns its documents in the order of the file. Empty documents are left out. Overlays set on the builder
+     * are not applied to the documents.
+     *
+     * @param fileName the file name to be loaded
+     * @return the resolved documents of the file
+     * @throws IllegalArgumentException if the file cannot be found in the base path.
+     */
+    public List<ConfigDocument> getDocuments(final String fileName) {
+        checkExists(fileName);
+        List<ConfigDocument> documents = null;
+        try {
+            documents = load(plain, fileOf(fileName), List.class, resolver, new ContentBinder<List<ConfigDocument>>() {
+                @Override
+                public List<ConfigDocument> bind(JsonParser parser) throws IOException {
+                    ImmutableList.Builder<ConfigDocument> documents = ImmutableList.builder();
+                    // the yaml parser returns null at the end of each document and is closed after the last one
+                    while (!parser.isClosed()) {
+                        JsonNode tree = mapperFor(fileName).readTree(parser);
+                        if (tree != null && !tree.isNull() && !tree.isMissingNode()) {
+                            documents.add(newDocument(fileName, tree));
+                        }
+                    }
+                    return documents.build();
+                }
+
+                @Override
+                public List<ConfigDocument> bind(JsonNode tree) {
+                    return ImmutableList.of(newDocument(fileName, tree));
+                }
+            });
+        } catch (IOException e) {
+            Throwables.propagate(e);
+        }
+        return documents;
+    }
+
+    /**
+     * Reads the documents of a file like {@link #getDocuments(String)} and returns them by the text value at the
+     * given Json Pointer, e.g. {@code /kind} for documents which start with a field {@code kind: database}.
+     *
+     * @param fileName   the file name to be loaded
+     * @param keyPointer the pointer to the value which identifies each document
+     * @return the resolved documents of the file by their keys, in the order of the file
+     * @throws IllegalArgumentException if the file cannot be found in the base path, the pointer is invalid or a
+     *                                  document has no value at the pointer.
+     * @throws ConfigurationException   if several documents have the same key
+     */
+    public Map<String, ConfigDocument> getDocuments(String fileName, String keyPointer) {
+        JsonPointer.compile(checkNotNull(keyPointer, "The given pointer must not be null"));
+        Map<String, ConfigDocument> documents = new LinkedHashMap<>();
+        for (ConfigDocument document : getDocuments(fileName)) {
+            String key = document.getText(keyPointer);
+            if (key == null) {
+                throw new IllegalArgumentException("The given pointer [" + keyPointer + "] can not be found in a " +
+                        "document of [" + pathOf(fileName) + "]");
+            }
+            if (documents.put(key, document) != null) {
+                throw new ConfigurationException("The key [" + key + "] is used by several documents of [" +
+                        pathOf(fileName) + "]");
+            }
+        }
+        return Collections.unmodifiableMap(documents);
+    }
+
+    private ConfigDocument newDocument(final String fileName, JsonNode tree) {
+        return new ConfigDocument(pathOf(fileName), tree, new ConfigDocument.Binder() {
+            @Override
+            public <T> T bind(Class<T> clazz, JsonNode section) throws IOException {
+                return bindTree(clazz, fileName, section);
+            }
+        });
+    }
+
+    /**
+     * Streams the elements of an array in the file with the given filename. The array is addressed by a Json Pointer
+     * like {@code /rules}. The elements are parsed lazily while the stream is consumed, so only the current element
+     * is held in memory, which allows to process very large arrays.
+     * <p>
+     * Variables are resolved inside string values of each element, like with
+     * {@link Builder#withStreamingResolution()}. The returned stream keeps the file open and must be closed, e.g.
+     * with a try-with-resources statement. The load is reported to the metrics listener when the stream is closed.
+     *
+     * @param elementType     the class used for the mapping of each element
+     * @param fileName        the file name to be loaded
+     * @param pointerToArray  the pointer to the array, an empty string addresses the whole file
+     * @return a lazily parsed stream of the elements
+     * @throws IllegalArgumentException if the file cannot be found in the base path, the pointer is invalid or does
+     *                                  not address an array.
+     */
+    public <E> Stream<E> stream(Class<E> elementType, String fileName, String pointerToArray) {
+        JsonPointer pointer = JsonPointer.compile(checkNotNull(pointerToArray, "The given pointer must not be null"));
+        checkExists(fileName);
+        final LoadRecorder recorder = metricsListener == null ? null : new LoadRecorder(pathOf(fileName));
+        final long start = System.nanoTime();
+        JsonParser parser = null;
+        try {
+            final CountingInputStream input = new CountingInputStream(source.open(fileName));
+            parser = new ResolvingJsonParser(formats.of(fileName)
+                    .getFactory()
+                    .createParser(input), recorder == null ? resolver : resolver.recordingInto(recorder), recorder);
+            if (!JsonPointers.moveTo(parser, pointer) || !parser.isExpectedStartArrayToken()) {
+                throw new IllegalArgumentException("The given pointer [" + pointerToArray + "] does not address an " +
+                        "array in [" + pathOf(fileName) + "]");
+            }
+            // positions the parser inside the array, so the iterator starts with the first element
+            parser.clearCurrentToken();
+            final RecordingIterator<E> elements = new RecordingIterator<>(readerFor(elementType, fileName)
+                    .<E>readValues(parser));
+            final JsonParser openParser = parser;
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED), false)
+                    .onClose(() -> {
+                        closeQuietly(openParser);
+                        if (recorder != null) {
+                            recorder.read(input.getCount(), 0);
+                            recorder.bound(System.nanoTime() - start - recorder.resolveNanos());
+                            notifyListener(recorder.toEvent(elements.failure));
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(parser);
+            if (recorder != null) {
+                notifyListener(recorder.toEvent(e));
+            }
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * Iterates the elements of a streamed array and keeps the first failure, so it can be reported when the stream
+     * is closed.
+     */
+    private static class RecordingIterator<E> implements Iterator<E> {
+        private final Iterator<E> elements;
+        private RuntimeException failure;
+
+        private RecordingIterator(Iterator<E> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return elements.hasNext();
+            } catch (RuntimeException e) {
+                throw recorded(e);
+            }
+        }
+
+        @Override
+        public E next() {
+            try {
+                return elements.next();
+            } catch (RuntimeException e) {
+                throw recorded(e);
+            }
+        }
+
+        private RuntimeException recorded(RuntimeException e) {
+            if (failure == null) {
+                failure = e;
+            }
+            return e;
+        }
+    }
+
+    private void closeQuietly(JsonParser parser) {
+        if (parser == null) {
+            return;
+        }
+        try {
+            parser.close();
+        } catch (IOException e) {
+            // nothing left to read
+        }
+    }
+
+    /**
+     * Loads configuration data asynchronously from a file name derived from the class name. See
+     * {@link #getConfig(Class)} for the naming rules and {@link #getConfigAsync(Class, String)} for the threading.
+     *
+     * @param clazz the class used for the mapping and for deriving the filename
+     * @return a future completed with the loaded configuration data
+     */
+    public <T> CompletableFuture<T> getConfigAsync(Class<T> clazz) {
+        return getConfigAsync(clazz, fileNameOf(clazz));
+    }
+
+    /**
+     * Loads configuration data asynchronously from the file with the given filename. The file is read and bound on
+     * the executor set on the builder or on virtual threads, if they are supported by the Java runtime. All
+     * variables of the file are resolved with {@link VariableResolver#resolveAsync(String)}, so resolvers doing I/O
+     * do not need to block a thread.
+     *
+     * @param clazz    the class used for the mapping
+     * @param fileName the file name to be loaded
+     * @return a future completed with the loaded configuration data or completed exceptionally if the file cannot be
+     * found or loaded.
+     */
+    public <T> CompletableFuture<T> getConfigAsync(Class<T> clazz, String fileName) {
+        Executor asyncExecutor = executor != null ? executor : DefaultExecutors.async();
+        return callAsync(() -> readForAsync(fileName), asyncExecutor)
+                .thenCompose(read -> resolver.resolveAllAsync(read.variableNames)
+                        .thenCompose(values -> callAsync(() -> loadConfig(clazz, read.file, read.stamp,
+                                VariableResolver.fromMap(values)
+                                        .withFallback(resolver)), asyncExecutor)));
+    }
+
+    /**
+     * Runs the given call on the given executor. The returned future is completed exceptionally with the exception of
+     * the call as it is, so an {@link IOException} is not wrapped into an unchecked exception.
+     */
+    private static <T> CompletableFuture<T> callAsync(Callable<T> call, Executor executor) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(call.call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Reads the variables of a file for an asynchronous load. The change stamp is taken before the file is read, so a
+     * change while reading leads to a new load instead of caching the old content under the new stamp.
+     */
+    private AsyncRead readForAsync(String fileName) throws IOException {
+        checkExists(fileName);
+        Object stamp = changeStamp(fileName);
+        ConfigFile file = fileOf(fileName);
+        return new AsyncRead(file, stamp, strategy.variableNames(file));
+    }
+
+    private <T> T loadConfig(final Class<T> clazz, String fileName, final VariableResolver resolver) {
+        final ConfigFile file = fileOf(fileName);
+        T config = null;
+        try {
+            if (cache == null) {
+                checkExists(fileName);
+                config = createConfig(clazz, file, resolver);
+            } else {
+                config = cache.get(clazz, fileName, new ConfigCache.Loader<T>() {
+                    @Override
+                    public T load() throws IOException {
+                        return createConfig(clazz, file, resolver);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            Throwables.propagate(e);
+        }
+        return config;
+    }
+
+    /**
+     * Loads the configuration from the given file, which is cached under the given change stamp.
+     */
+    private <T> T loadConfig(final Class<T> clazz, final ConfigFile file, Object stamp,
+                             final VariableResolver resolver) throws IOException {
+        if (cache == null) {
+            return createConfig(clazz, file, resolver);
+        }
+        return cache.get(clazz, file.getName(), stamp, new ConfigCache.Loader<T>() {
+            @Override
+            public T load() throws IOException {
+                return createConfig(clazz, file, resolver);
+            }
+        });
+    }
+
+    /**
+     * The read file of an asynchronous load together with the change stamp taken before reading it.
+     */
+    private static class AsyncRead {
+        private final ConfigFile file;
+        private final Object stamp;
+        private final Set<String> variableNames;
+
+        private AsyncRead(ConfigFile file, Object stamp, Set<String> variableNames) {
+            this.file = file;
+            this.stamp = stamp;
+            this.variableNames = variableNames;
+        }
+    }
+
+    /**
+     * Loads configuration data from a file name derived from the class name and keeps it up to date. See
+     * {@link #getConfig(Class)} for the naming rules and {@link #watch(Class, String)} for the reloading behaviour.
+     *
+     * @param clazz the class used for the mapping and for deriving the filename
+     * @return a handle holding the loaded configuration data
+     * @throws IllegalArgumentException if the file cannot be found in the base path.
+     */
+    public <T> ConfigHandle<T> watch(Class<T> clazz) {
+        return watch(clazz, fileNameOf(clazz));
+    }
+
+    /**
+     * Loads configuration data from the file with the given filename and keeps it up to date. The file is watched
+     * in the background and reloaded whenever it changes, several changes in a short time result in a single
+     * reload. The handle should be closed if the configuration is not needed anymore.
+     *
+     * @param clazz    the class used for the mapping
+     * @param fileName the file name to be loaded
+     * @return a handle holding the loaded configuration data
+     * @throws IllegalArgumentException      if the file cannot be found in the base path.
+     * @throws UnsupportedOperationException if the configuration files are not read from a directory
+     */
+    public <T> ConfigHandle<T> watch(final Class<T> clazz, final String fileName) {
+        if (!(source instanceof PathConfigSource)) {
+            throw new UnsupportedOperationException("Only configuration files of a directory can be watched");
+        }
+        Path fullPath = ((PathConfigSource) source).resolve(fileName)
+                .toAbsolutePath()
+                .normalize();
+        checkExists(fileName);
+        ConfigHandle<T> handle = new ConfigHandle<>(fullPath, new ConfigCache.Loader<T>() {
+            @Override
+            public T load() throws IOException {
+                return createConfig(clazz, fileName, resolver);
+            }
+        });
+        try {
+            register(handle);
+            handle.initialize();
+        } catch (IOException | RuntimeException e) {
+            handle.close();
+            Throwables.propagate(e);
+        }
+        return handle;
+    }
+
+    private synchronized void register(ConfigHandle<?> handle) throws IOException {
+        if (watcher == null || !watcher.register(handle)) {
+            watcher = ConfigWatcher.start(handle.getPath()
+                    .getParent(), watchDebounceNanos);
+            watcher.register(handle);
+        }
+    }
+
+    /**
+     * Returns the hit and miss counters of the configuration cache. If caching is not enabled on the builder, both
+     * counters are always zero.
+     *
+     * @return the current statistics of the configuration cache.
+     */
+    public CacheStats getCacheStats() {
+        return cache == null ? new CacheStats(0, 0) : cache.stats();
+    }
+
+    /**
+     * Loads all given configuration classes in parallel. The file names are derived from the class names like in
+     * {@link #getConfig(Class)}. The configurations are loaded on the executor set on the builder or on the
+     * {@link ForkJoinPool#commonPool() common pool} otherwise.
+     *
+     * @param classes the configuration classes to be loaded
+     * @return a registry holding all loaded configurations
+     * @throws ConfigurationException if at least one configuration cannot be loaded. The failures of all
+     *                                configurations are attached as suppressed exceptions.
+     */
+    public ConfigRegistry preload(Collection<? extends Class<?>> classes) {
+        return new ConfigRegistry(registryBinder(), loadAll(classes), Collections.<String, JsonNode>emptyMap());
+    }
+
+    /**
+     * Loads all given configuration classes in parallel like {@link #preload(Collection)} and publishes them as one
+     * consistent snapshot. Further generations are loaded with {@link ConfigSnapshotHandle#refresh()}. If caching
+     * is enabled, configurations of unchanged files are shared between generations.
+     *
+     * @param classes the configuration classes of the snapshot
+     * @return a handle holding the first generation of the snapshot
+     * @throws ConfigurationException if at least one configuration cannot be loaded
+     */
+    public ConfigSnapshotHandle snapshotOf(Collection<? extends Class<?>> classes) {
+        final Set<Class<?>> snapshotClasses = new LinkedHashSet<>(classes);
+        ConfigSnapshotHandle handle = new ConfigSnapshotHandle(() -> loadAll(snapshotClasses));
+        handle.refresh();
+        return handle;
+    }
+
+    private Map<Class<?>, Object> loadAll(Collection<? extends Class<?>> classes) {
+        Map<Class<?>, Callable<Object>> tasks = new LinkedHashMap<>();
+        for (final Class<?> clazz : classes) {
+            tasks.put(clazz, new Callable<Object>() {
+                @Override
+                public Object call() {
+                    String fileName = fileNameOf(clazz);
+                    Object config = getConfig(clazz, fileName);
+                    if (config == null) {
+                        throw new ConfigurationException("The given file contains no configuration [" +
+                                pathOf(fileName) + "]");
+                    }
+                    return config;
+                }
+            });
+        }
+        return ParallelLoader.loadAll(tasks, executor);
+    }
+
+    /**
+     * Reads and resolves all configuration files with the default suffix in the base path in parallel, without
+     * binding them to a class yet. The configurations are bound when they are requested from the returned registry.
+     *
+     * @return a registry holding all read configuration files
+     * @throws ConfigurationException if at least one file cannot be read. The failures of all files are attached as
+     *                                suppressed exceptions.
+     * @see #preload(Collection)
+     */
+    public ConfigRegistry preloadDirectory() {
+        Map<String, Callable<JsonNode>> tasks = new LinkedHashMap<>();
+        try {
+            for (final String fileName : source.names()) {
+                if (fileName.endsWith(DEFAULT_CONFIG_SUFFIX) || formats.isDetected(fileName)) {
+                    tasks.put(fileName, new Callable<JsonNode>() {
+                        @Override
+                        public JsonNode call() throws IOException {
+                            return readTree(fileName, resolver);
+                        }
+                    });
+                }
+            }
+        } catch (IOException e) {
+            Throwables.propagate(e);
+        }
+        return new ConfigRegistry(registryBinder(), Collections.<Class<?>, Object>emptyMap(),
+                ParallelLoader.loadAll(tasks, executor));
+    }
+
+    private ConfigRegistry.Binder registryBinder() {
+        return new ConfigRegistry.Binder() {
+            @Override
+            public <T> T bind(Class<T> clazz, String fileName, JsonNode tree) throws IOException {
+                return bindTree(clazz, fileName, tree);
+            }
+        };
+    }
+
+    /**
+     * Binds the value of the given parser to the given class, with the generated reader of the class if there is one.
+     */
+    private <T> T bindConfig(Class<T> clazz, String fileName, JsonParser parser) throws IOException {
+        ConfigReader<T> generated = GeneratedReaders.of(clazz);
+        if (generated == null) {
+            return readerFor(clazz, fileName).readValue(parser);
+        }
+        if (!parser.hasCurrentToken() && parser.nextToken() == null) {
+            throw new ConfigurationException("The given file is empty [" + pathOf(fileName) + "]");
+        }
+        return generated.read(parser);
+    }
+
+    /**
+     * Binds the given tree to the given class like {@link #getConfig(Class, String)} does, including the
+     * implementation of interfaces.
+     */
+    private <T> T bindTree(Class<T> clazz, String fileName, JsonNode tree) throws IOException {
+        if (clazz.isInterface()) {
+            return LazyConfig.of(clazz, tree, lazyBinder(fileName));
+        }
+        return bindConfig(clazz, fileName, tree);
+    }
+
+    /**
+     * Returns the binder of the getters of configuration interfaces, which uses the generated readers and the cached
+     * readers of the format like all other loads.
+     */
+    private LazyConfig.Binder lazyBinder(final String fileName) {
+        return new LazyConfig.Binder() {
+            @Override
+            public Object bind(Type type, JsonNode node) throws IOException {
+                if (type instanceof Class) {
+                    return bindConfig((Class<?>) type, fileName, node);
+                }
+                return formats.of(fileName)
+                        .readerFor(type)
+                        .readValue(node);
+            }
+        };
+    }
+
+    private <T> T bindConfig(Class<T> clazz, String fileName, JsonNode tree) throws IOException {
+        if (GeneratedReaders.of(clazz) == null) {
+            return readerFor(clazz, fileName).readValue(tree);
+        }
+        try (JsonParser parser = mapperFor(fileName).treeAsTokens(tree)) {
+            return bindConfig(clazz, fileName, parser);
+        }
+    }
+
+    private <T> T createConfig(Class<T> clazz, String fileName, VariableResolver resolver) throws IOException {
+        return createConfig(clazz, fileOf(fileName), resolver);
     }
 
-    private String toFileName(Class<?> clazz) {
-        return CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_HYPHEN, clazz.getSimpleName()) + DEFAULT_CONFIG_SUFFIX;
+    private <T> T createConfig(Class<T> clazz, ConfigFile file, VariableResolver resolver) throws IOException {
+        return load(strategy, file, clazz, resolver, configBinder(clazz, file));
     }
 
-    private Path getAbsoluteFilePath(String fileName) {
-        return Paths.get(basePath.toString(), fileName);
+    private JsonNode readTree(String fileName, VariableResolver resolver) throws IOException {
+        ConfigFile file = fileOf(fileName);
+        return load(strategy, file, JsonNode.class, resolver, treeBinder(file));
+    }
+
+    /**
+     * Loads the given file with the given strategy and binds it with the given binder. All loads except streamed
+     * arrays take this path, which measures them if a metrics listener is registered.
+     */
+    private <T> T load(final LoadStrategy strategy, final ConfigFile file, final Class<?> type,
+                       final VariableResolver resolver, final ContentBinder<T> binder) throws IOException {
+        if (metricsListener == null) {
+            return strategy.load(file, type, resolver, binder, null);
+        }
+        return measure(file.getName(), new Measured<T>() {
+            @Override
+            public T load(LoadRecorder recorder) throws IOException {
+                return strategy.load(file, type, resolver.recordingInto(recorder), binder, recorder);
+            }
+        });
+    }
+
+    /**
+     * Returns the binder of the given class, which implements interfaces like {@link #getConfig(Class, String)}.
+     */
+    private <T> ContentBinder<T> configBinder(final Class<T> clazz, final ConfigFile file) {
+        return new ContentBinder<T>() {
+            @Override
+            public T bind(JsonParser parser) throws IOException {
+                if (clazz.isInterface()) {
+                    return bind(LoadStrategy.readTree(mapperFor(file.getName()), parser, file));
+                }
+                return bindConfig(clazz, file.getName(), parser);
+            }
+
+            @Override
+            public T bind(JsonNode tree) throws IOException {
+                return bindTree(clazz, file.getName(), tree);
+            }
+        };
+    }
+
+    private ContentBinder<JsonNode> treeBinder(final ConfigFile file) {
+        return new ContentBinder<JsonNode>() {
+            @Override
+            public JsonNode bind(JsonParser parser) throws IOException {
+                return LoadStrategy.readTree(mapperFor(file.getName()), parser, file);
+            }
+
+            @Override
+            public JsonNode bind(JsonNode tree) {
+                return tree;
+            }
+        };
+    }
+
+    /**
+     * Runs the given load with a new recorder and reports it to the metrics listener exactly once, whether it succeeds
+     * or fails.
+     */
+    private <T> T measure(String fileName, Measured<T> load) throws IOException {
+        LoadRecorder recorder = new LoadRecorder(pathOf(fileName));
+        T result;
+        try {
+            result = load.load(recorder);
+        } catch (IOException | RuntimeException e) {
+            notifyListener(recorder.toEvent(e));
+            throw e;
+        }
+        notifyListener(recorder.toEvent(null));
+        return result;
+    }
+
+    /**
+     * Passes the given event to the metrics listener. An exception thrown by the listener is logged, so it neither
+     * fails the load nor is taken for a failure of the load.
+     */
+    private void notifyListener(ConfigLoadEvent event) {
+        try {
+            metricsListener.onLoad(event);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "The metrics listener failed for [" + event.getPath() + "]", e);
+        }
+    }
+
+    /**
+     * Returns the reader for the given class in the format of the given file.
+     */
+    private ObjectReader readerFor(Class<?> clazz, String fileName) {
+        return formats.of(fileName)
+                .readerFor(clazz);
+    }
+
+    private ObjectMapper mapperFor(String fileName) {
+        return formats.of(fileName)
+                .getMapper();
+    }
+
+    private interface Measured<T> {
+        T load(LoadRecorder recorder) throws IOException;
+    }
+
+    private ConfigFile fileOf(String fileName) {
+        return new ConfigFile(source, fileName, pathOf(fileName));
+    }
+
+    private void checkExists(String fileName) {
+        if (!exists(fileName)) {
+            throw new IllegalArgumentException("The given file can not be found [" + pathOf(fileName) + "]");
+        }
+    }
+
+    /**
+     * Returns whether the given file exists. With a directory index, the index is asked instead of the source, except
+     * for files in subdirectories, which the index does not list.
+     */
+    private boolean exists(String fileName) {
+        return index == null || isInSubdirectory(fileName) ? source.exists(fileName) : index.contains(fileName);
+    }
+
+    private static boolean isInSubdirectory(String fileName) {
+        return fileName.indexOf('/') >= 0 || fileName.indexOf('\\') >= 0;
+    }
+
+    /**
+     * Returns the name of the file for the given class. With format detection, the first existing file with one of
+     * the detected suffixes is used, if there is no file with the default suffix.
+     */
+    private String fileNameOf(Class<?> clazz) {
+        String fileName = toFileName(clazz);
+        if (formats.isDetecting() && !exists(fileName)) {
+            String baseName = toBaseName(clazz);
+            for (String suffix : ConfigFormats.DETECTED_SUFFIXES) {
+                if (exists(baseName + suffix)) {
+                    return baseName + suffix;
+                }
+            }
+        }
+        return fileName;
+    }
+
+    /**
+     * Returns the change stamp of the given file and, if layers are used, of all its overlays.
+     */
+    private Object changeStamp(String fileName) throws IOException {
+        checkExists(fileName);
+        return strategy.changeStamp(fileName);
+    }
+
+    /**
+     * Returns the path of the given file for messages and metrics. Files of sources which are not backed by a
+     * directory are identified by their name only.
+     */
+    private Path pathOf(String fileName) {
+        return source instanceof PathConfigSource ? ((PathConfigSource) source).resolve(fileName) :
+                Paths.get(fileName);
+    }
+
+    ConfigFormats getFormats() {
+        return formats;
+    }
+
+    static String toFileName(Class<?> clazz) {
+        ConfigReader<?> generated = GeneratedReaders.of(clazz);
+        return generated == null ? toBaseName(clazz) + DEFAULT_CONFIG_SUFFIX : generated.fileName();
+    }
+
+    static String toBaseName(Class<?> clazz) {
+        return CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_HYPHEN, clazz.getSimpleName());
     }
 
     /**
      * Creates a AppConfigr instance.
      */
     public static class Builder {
+        private static final Pattern NAMESPACE_PATTERN = Pattern.compile("[A-Za-z0-9_.]+");
+
         private final Path path;
+        private final ConfigSource source;
         private boolean checkDirectory = true;
         private JsonFactory factory = new YAMLFactory();
         private VariableResolver resolver = VariableResolver.fromSystemProperties()
                 .withFallback(VariableResolver.fromEnvironment());
-
+        private long revalidationNanos = -1;
+        private long watchDebounceNanos = TimeUnit.MILLISECONDS.toNanos(100);
+        private boolean streamingResolution;
+        private Executor executor;
+        private boolean bytecodeBinding;
+        private ConfigMetricsListener metricsListener;
+        private Path snapshotDirectory;
+        private final Set<Class<?>> precompiledClasses = new LinkedHashSet<>();
+        private final List<ConfigSource> overlays = new ArrayList<>();
+        private String systemPropertyOverlayPrefix;
+        private boolean compiledTemplates;
+        private boolean formatDetection;
+        private boolean directoryIndex;
+        private boolean compactValues;
+        private final Map<String, VariableResolver> namespaces = new HashMap<>();
 
         private Builder(Path path) {
             this.path = path;
+            this.source = new PathConfigSource(path);
+            addDefaultNamespaces();
+        }
+
+        private Builder(ConfigSource source) {
+            this.path = null;
+            this.source = source;
+            addDefaultNamespaces();
+        }
+
+        private void addDefaultNamespaces() {
+            namespaces.put("env", VariableResolver.fromEnvironment());
+            namespaces.put("sys", VariableResolver.fromSystemProperties());
         }
 
 
@@ -197,21 +1054,353 @@ public class AppConfigr {
             return this;
         }
 
+        /**
+         * Registers a resolver for the variables of the given namespace. A variable like {@code ${vault:db.password}}
+         * is resolved only by the resolver of the namespace {@code vault}, which is looked up by its name instead of
+         * walking through a chain of resolvers. The resolver gets the name without the namespace. Variables without
+         * namespace are still resolved by the {@link #withResolvingStrategy(VariableResolver) resolving strategy}.
+         * Variables whose namespace is not registered, like {@code ${jdbc:url}}, are left as they are.
+         * <p>
+         * The namespaces {@code env} and {@code sys} are registered by default for environment variables and system
+         * properties. They can be replaced.
+         *
+         * @return this builder
+         * @throws IllegalArgumentException if the namespace contains other characters than letters, digits,
+         *                                  underscores and dots
+         * @throws NullPointerException     if the given namespace or resolver is {@code null}
+         */
+        public Builder withNamespace(String namespace, VariableResolver resolver) {
+            checkNotNull(namespace, "The given namespace must not be null");
+            checkNotNull(resolver, "The given resolver must not be null");
+            checkArgument(NAMESPACE_PATTERN.matcher(namespace)
+                    .matches(), "The given namespace is not valid [" + namespace + "]");
+            namespaces.put(namespace, resolver);
+            return this;
+        }
+
+        /**
+         * Registers the namespace {@code file}, which resolves a variable like {@code ${file:/run/secrets/db}} to the
+         * content of the file with the given path, see {@link VariableResolver#fromFiles()}. It is not registered by
+         * default, as it lets every configuration file read any file the application can read.
+         *
+         * @return this builder
+         */
+        public Builder withFileNamespace() {
+            namespaces.put("file", VariableResolver.fromFiles());
+            return this;
+        }
+
+        /**
+         * Parses the configuration files directly from the file system and resolves variables only inside string
+         * values while parsing, instead of replacing them in the whole file content up front. This needs considerably
+         * less memory for large files and prevents resolved values from changing the structure of the document.
+         * <p>
+         * In this mode, variables in field names are not resolved and variables in formats like Json must be placed
+         * inside quoted strings. Numbers and booleans are converted from the resolved strings by Jackson.
+         *
+         * @return this builder
+         */
+        public Builder withStreamingResolution() {
+            this.streamingResolution = true;
+            return this;
+        }
+
+        /**
+         * Reads each file by the format of its extension: .yaml and .yml as yaml, .json as Json and all other files,
+         * like .conf, by the format of the {@link #withFactory(JsonFactory) factory}. This allows to mix formats in
+         * one directory. If the file name is derived from the class name, the suffixes .yaml, .yml and .json are
+         * tried after .conf.
+         *
+         * @return this builder
+         */
+        public Builder withFormatDetection() {
+            this.formatDetection = true;
+            return this;
+        }
+
+        /**
+         * Reduces the heap footprint of the bound configurations. Equal string values of a load are bound to a
+         * single string instance, and properties declared as {@code List}, {@code Set}, {@code Collection} or
+         * {@code Map} are bound to immutable collections without spare capacity. The effect can be inspected with
+         * {@link ConfigFootprint#of(Object)}.
+         * <p>
+         * Applies to configurations bound by Jackson, the fields of classes with a generated {@link ConfigReader}
+         * keep their own string instances.
+         *
+         * @return this builder
+         */
+        public Builder withCompactValues() {
+            this.compactValues = true;
+            return this;
+        }
+
+        /**
+         * Lists the files of the directory once when the instance is built. Whether a file exists is then looked up
+         * in this index instead of the file system, which saves the existence checks of each load, especially when
+         * several suffixes are tried with {@link #withFormatDetection()}. Reading the file and, with caching, its
+         * size and modification time still need the file system.
+         * <p>
+         * Files which are added after the instance was built are not found. Changes of indexed files are still
+         * detected by caching and watching. Only the files directly in the directory are indexed, files in
+         * subdirectories like {@code "sub/my.conf"} are still looked up in the file system.
+         *
+         * @return this builder
+         */
+        public Builder withDirectoryIndex() {
+            this.directoryIndex = true;
+            return this;
+        }
+
+        /**
+         * Compiles each configuration file once into a template of literal text and variable slots. Later loads of
+         * the file only resolve the variables again and render the template, without reading and scanning the file.
+         * If no resolved value has changed, the previously bound configuration is returned without binding it again.
+         * A changed file is compiled again.
+         * <p>
+         * This suits variables which change at runtime, like system properties. As every load resolves the variables
+         * again, templates cannot be combined with {@link #withCaching() caching}. Templates replace the variables in
+         * the whole content of a single file, so they cannot be combined with {@link #withStreamingResolution()},
+         * overlays or snapshots either.
+         *
+         * @return this builder
+         */
+        public Builder withCompiledTemplates() {
+            this.compiledTemplates = true;
+            return this;
+        }
+
+        /**
+         * Enables caching of the loaded configurations. Once loaded, a configuration is returned from the cache as
+         * long as the modification time and size of its file are unchanged. The file is checked on every call.
+         * <p>
+         * Cached configurations are shared between callers and should therefore not be modified.
+         *
+         * @return this builder
+         */
+        public Builder withCaching() {
+            this.revalidationNanos = 0;
+            return this;
+        }
+
+        /**
+         * Enables caching of the loaded configurations like {@link #withCaching()}, but checks the file for changes
+         * at most once in the given interval.
+         *
+         * @return this builder
+         * @throws IllegalArgumentException if the given interval is negative
+         * @throws NullPointerException     if the given unit is {@code null}
+         */
+        public Builder withCaching(long revalidationInterval, TimeUnit unit) {
+            checkNotNull(unit, "The given time unit must not be null");
+            checkArgument(revalidationInterval >= 0, "The revalidation interval must not be negative");
+            this.revalidationNanos = unit.toNanos(revalidationInterval);
+            return this;
+        }
+
+        /**
+         * Prepares the readers for the given configuration classes when the instance is built instead of on their
+         * first use. This moves the introspection of the classes to the startup of the application.
+         *
+         * @return this builder
+         * @throws NullPointerException if one of the given classes is {@code null}
+         */
+        public Builder withPrecompiledReaders(Class<?>... classes) {
+            for (Class<?> clazz : classes) {
+                precompiledClasses.add(checkNotNull(clazz, "The given class must not be null"));
+            }
+            return this;
+        }
+
+        /**
+         * Uses generated bytecode instead of reflection to set the properties of the configuration classes while
+         * binding. This applies to configuration classes with public setters or fields. Whether it pays off depends on
+         * the classes and should be measured, e.g. with the {@code BindingBenchmark} of the jmh source set.
+         *
+         * @return this builder
+         */
+        public Builder withBytecodeBinding() {
+            this.bytecodeBinding = true;
+            return this;
+        }
+
+        /**
+         * Stores the resolved content of each loaded configuration file in a compact binary form in the given
+         * directory. Later loads, also by other processes, bind directly from this snapshot as long as neither the
+         * file nor the values of its variables have changed, which skips parsing the original format.
+         * <p>
+         * The snapshots contain the resolved variable values, so the directory must be protected like the sources of
+         * the variables. Outdated snapshots are not removed automatically. Snapshots cannot be combined with overlays
+         * or compiled templates.
+         *
+         * @return this builder
+         * @throws NullPointerException if the given directory is {@code null}
+         */
+        public Builder withSnapshotDirectory(Path directory) {
+            this.snapshotDirectory = checkNotNull(directory, "The given snapshot directory must not be null");
+            return this;
+        }
+
+        /**
+         * Adds a directory with overrides for the configuration files of the base directory. A file in an overlay
+         * directory only needs to contain the values which differ from the file with the same name in the base
+         * directory, both are deep merged before binding. Overlays are applied in the order they were added, so e.g.
+         * an environment directory should be added before a host directory. Missing files are ignored.
+         * <p>
+         * Variables are resolved inside string values of the merged configuration, like with
+         * {@link #withStreamingResolution()}. Parsed files are shared by all configurations and instances and only
+         * parsed again if they have changed. Overlays cannot be combined with snapshots or compiled templates.
+         *
+         * @return this builder
+         * @throws NullPointerException if the given directory is {@code null}
+         */
+        public Builder withOverlayDirectory(Path directory) {
+            return withOverlay(ConfigSources.directory(checkNotNull(directory, "The given overlay directory must " +
+                    "not be null")));
+        }
+
+        /**
+         * Adds a source with overrides for the configuration files, like {@link #withOverlayDirectory(Path)} does for
+         * a directory.
+         *
+         * @return this builder
+         * @throws NullPointerException if the given source is {@code null}
+         */
+        public Builder withOverlay(ConfigSource overlay) {
+            overlays.add(checkNotNull(overlay, "The given overlay must not be null"));
+            return this;
+        }
+
+        /**
+         * Adds system properties as last overlay for all configuration files. A property named like the prefix
+         * followed by the file name without suffix and the dot separated path of a value overrides this value, e.g.
+         * {@code -Dappconfigr.my-app-config.server.port=8080} with the prefix {@code appconfigr.} overrides the value
+         * {@code server.port} of the file my-app-config.conf.
+         *
+         * @return this builder
+         * @throws NullPointerException if the given prefix is {@code null}
+         * @see #withOverlayDirectory(Path)
+         */
+        public Builder withSystemPropertyOverlay(String prefix) {
+            this.systemPropertyOverlayPrefix = checkNotNull(prefix, "The given prefix must not be null");
+            return this;
+        }
+
+        /**
+         * Registers a listener which receives the timings and statistics of every loaded configuration file. Without
+         * a listener, loads are not measured at all.
+         *
+         * @return this builder
+         * @throws NullPointerException if the given listener is {@code null}
+         * @see ConfigMetricsAggregator
+         */
+        public Builder withMetricsListener(ConfigMetricsListener listener) {
+            this.metricsListener = checkNotNull(listener, "The given listener must not be null");
+            return this;
+        }
+
+        /**
+         * Sets the executor which is used to load configurations in parallel and asynchronously. If no executor is
+         * set, the {@link ForkJoinPool#commonPool() common pool} is used for parallel loads and virtual threads are
+         * used for asynchronous loads, if they are supported by the Java runtime.
+         *
+         * @return this builder
+         * @throws NullPointerException if the given executor is {@code null}
+         * @see AppConfigr#preload(Collection)
+         * @see AppConfigr#getConfigAsync(Class, String)
+         */
+        public Builder withExecutor(Executor executor) {
+            this.executor = checkNotNull(executor, "The given executor must not be null");
+            return this;
+        }
+
+        /**
+         * Changes how long a watched configuration file must stay unchanged before it is reloaded. The default is 100
+         * milliseconds.
+         *
+         * @return this builder
+         * @throws IllegalArgumentException if the given interval is negative
+         * @throws NullPointerException     if the given unit is {@code null}
+         * @see AppConfigr#watch(Class, String)
+         */
+        public Builder withWatchDebounce(long interval, TimeUnit unit) {
+            checkNotNull(unit, "The given time unit must not be null");
+            checkArgument(interval >= 0, "The debounce interval must not be negative");
+            this.watchDebounceNanos = unit.toNanos(interval);
+            return this;
+        }
+
         /**
          * Creates a new instance of AppConfigr.
          *
          * @throws IllegalArgumentException if the base path is not a valid directory.
+         * @throws IllegalStateException    if options are combined which cannot be used together, like compiled
+         *                                  templates and caching.
          */
         public AppConfigr build() {
             validate();
-            return new AppConfigr(path, new ObjectMapper(factory), resolver);
+            ObjectMapper mapper = newMapper(factory);
+            Map<String, ObjectMapper> mappersBySuffix = new HashMap<>();
+            if (formatDetection) {
+                ObjectMapper yamlMapper = factory instanceof YAMLFactory ? mapper : newMapper(new YAMLFactory());
+                ObjectMapper jsonMapper = factory.getClass() == JsonFactory.class ? mapper :
+                        newMapper(new JsonFactory());
+                mappersBySuffix.put(".yaml", yamlMapper);
+                mappersBySuffix.put(".yml", yamlMapper);
+                mappersBySuffix.put(".json", jsonMapper);
+            }
+            return new AppConfigr(this, new ConfigFormats(mapper, mappersBySuffix), directoryIndex ? index() : null);
+        }
+
+        private ObjectMapper newMapper(JsonFactory factory) {
+            ObjectMapper mapper = new ObjectMapper(factory);
+            if (bytecodeBinding) {
+                mapper.registerModule(new AfterburnerModule());
+            }
+            if (compactValues) {
+                mapper.registerModule(CompactValues.module());
+            }
+            return mapper;
+        }
+
+        private Set<String> index() {
+            Set<String> index = null;
+            try {
+                index = ImmutableSet.copyOf(source.names());
+            } catch (IOException e) {
+                Throwables.propagate(e);
+            }
+            return index;
         }
 
         private void validate() {
-            if (checkDirectory && !Files.isDirectory(path)) {
+            if (checkDirectory && path != null && !Files.isDirectory(path)) {
                 throw new IllegalArgumentException("The given path is not a valid directory [" + path + "]. This " +
                         "exception can be suppressed by calling noCheck() on Builder.");
             }
+            if (compiledTemplates && streamingResolution) {
+                throw new IllegalStateException("Compiled templates replace variables in the whole file content and " +
+                        "can not be combined with streaming resolution.");
+            }
+            if (compiledTemplates && revalidationNanos >= 0) {
+                throw new IllegalStateException("Compiled templates resolve the variables on every load and can not " +
+                        "be combined with caching.");
+            }
+            if (compiledTemplates && hasOverlays()) {
+                throw new IllegalStateException("Compiled templates render a single file and can not be combined " +
+                        "with overlays.");
+            }
+            if (compiledTemplates && snapshotDirectory != null) {
+                throw new IllegalStateException("Compiled templates and snapshots both replace the parsing of the " +
+                        "files and can not be combined.");
+            }
+            if (snapshotDirectory != null && hasOverlays()) {
+                throw new IllegalStateException("Snapshots store the content of a single file and can not be " +
+                        "combined with overlays.");
+            }
+        }
+
+        private boolean hasOverlays() {
+            return !overlays.isEmpty() || systemPropertyOverlayPrefix != null;
         }
     }
 }
@@ -0,0 +1,48 @@
+package io.github.tommy1199.appconfigr;
+
+/**
+ * Hit and miss counters of the configuration cache of an {@link AppConfigr} instance.
+ */
+public final class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+
+    CacheStats(long hitCount, long missCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+    }
+
+    /**
+     * Returns the number of requests which were answered with an already bound configuration.
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of requests which had to read and bind the configuration file.
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the total number of requests.
+     */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Returns the ratio of hits to requests or {@code 1.0} if no request was made yet.
+     */
+    public double hitRate() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats[hitCount=" + hitCount + ", missCount=" + missCount + "]";
+    }
+}
@@ -0,0 +1,193 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.deser.std.StdDelegatingDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.Converter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Jackson module which reduces the heap footprint of bound configurations. Equal string values of one load are
+ * replaced by a single instance, using an intern table which lives as long as the load. Properties declared as
+ * {@link List}, {@link Set}, {@link Collection} or {@link Map} are bound to immutable collections without spare
+ * capacity. Properties declared with a concrete collection class are left as they are.
+ */
+class CompactValues {
+    private static final Object INTERN_TABLE = new Object();
+
+    private CompactValues() {
+    }
+
+    static Module module() {
+        return new CompactModule().addDeserializer(String.class, new CanonicalStringDeserializer());
+    }
+
+    @SuppressWarnings("unchecked")
+    static Object compact(Object value) {
+        if (value instanceof List) {
+            return compactList((List<Object>) value);
+        }
+        if (value instanceof Set) {
+            Set<Object> set = (Set<Object>) value;
+            if (set.contains(null)) {
+                return Collections.unmodifiableSet(new LinkedHashSet<>(set));
+            }
+            return ImmutableSet.copyOf(set);
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> map = (Map<Object, Object>) value;
+            if (map.containsKey(null) || map.containsValue(null)) {
+                return Collections.unmodifiableMap(new LinkedHashMap<>(map));
+            }
+            return ImmutableMap.copyOf(map);
+        }
+        if (value instanceof Collection) {
+            return compactList(Arrays.asList(((Collection<?>) value).toArray()));
+        }
+        return value;
+    }
+
+    private static List<Object> compactList(List<Object> list) {
+        if (list.contains(null)) {
+            return Collections.unmodifiableList(Arrays.asList(list.toArray()));
+        }
+        return ImmutableList.copyOf(list);
+    }
+
+    /**
+     * Adds the deserializers of the compacted collections to the string deserializer registered on the module.
+     */
+    private static class CompactModule extends SimpleModule {
+        private static final long serialVersionUID = 1L;
+
+        private CompactModule() {
+            super("AppConfigrCompactValues");
+        }
+
+        @Override
+        public void setupModule(SetupContext context) {
+            super.setupModule(context);
+            context.addDeserializers(new CompactCollections());
+        }
+    }
+
+    /**
+     * Returns the canonical instance of each string value. The intern table is stored in the attributes of the
+     * deserialization context, so it is dropped after the load.
+     */
+    private static class CanonicalStringDeserializer extends StdScalarDeserializer<String> {
+        private static final long serialVersionUID = 1L;
+
+        private CanonicalStringDeserializer() {
+            super(String.class);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            String value = StringDeserializer.instance.deserialize(parser, context);
+            if (value == null) {
+                return null;
+            }
+            Map<String, String> table = (Map<String, String>) context.getAttribute(INTERN_TABLE);
+            if (table == null) {
+                table = new HashMap<>();
+                context.setAttribute(INTERN_TABLE, table);
+            }
+            String canonical = table.putIfAbsent(value, value);
+            return canonical == null ? value : canonical;
+        }
+    }
+
+    /**
+     * Binds collections declared by their interface to the usual implementation first and converts them afterwards.
+     */
+    private static class CompactCollections extends Deserializers.Base {
+
+        @Override
+        public JsonDeserializer<?> findCollectionDeserializer(CollectionType type, DeserializationConfig config,
+                                                              BeanDescription description,
+                                                              TypeDeserializer elementTypeDeserializer,
+                                                              JsonDeserializer<?> elementDeserializer) {
+            Class<?> raw = type.getRawClass();
+            if (raw == List.class || raw == Collection.class) {
+                return compacting(type, config.getTypeFactory()
+                        .constructCollectionType(ArrayList.class, type.getContentType()));
+            }
+            if (raw == Set.class) {
+                return compacting(type, config.getTypeFactory()
+                        .constructCollectionType(LinkedHashSet.class, type.getContentType()));
+            }
+            return null;
+        }
+
+        @Override
+        public JsonDeserializer<?> findMapDeserializer(MapType type, DeserializationConfig config,
+                                                       BeanDescription description, KeyDeserializer keyDeserializer,
+                                                       TypeDeserializer elementTypeDeserializer,
+                                                       JsonDeserializer<?> elementDeserializer) {
+            if (type.getRawClass() == Map.class) {
+                return compacting(type, config.getTypeFactory()
+                        .constructMapType(LinkedHashMap.class, type.getKeyType(), type.getContentType()));
+            }
+            return null;
+        }
+
+        private static JsonDeserializer<?> compacting(JavaType declaredType, JavaType boundType) {
+            return new StdDelegatingDeserializer<>(new Compacting(boundType, declaredType));
+        }
+    }
+
+    private static class Compacting implements Converter<Object, Object> {
+        private final JavaType inputType;
+        private final JavaType outputType;
+
+        private Compacting(JavaType inputType, JavaType outputType) {
+            this.inputType = inputType;
+            this.outputType = outputType;
+        }
+
+        @Override
+        public Object convert(Object value) {
+            return compact(value);
+        }
+
+        @Override
+        public JavaType getInputType(TypeFactory typeFactory) {
+            return inputType;
+        }
+
+        @Override
+        public JavaType getOutputType(TypeFactory typeFactory) {
+            return outputType;
+        }
+    }
+}
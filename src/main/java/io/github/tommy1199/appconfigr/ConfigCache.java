@@ -0,0 +1,127 @@
+package io.github.tommy1199.appconfigr;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memoizes bound configuration objects per configuration class and file. A cached entry is revalidated against the
+ * change stamp of its file, and of all its overlays if layers are used, once the revalidation interval has elapsed.
+ */
+class ConfigCache {
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final long revalidationNanos;
+    private final Stamps stamps;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    ConfigCache(long revalidationNanos, Stamps stamps) {
+        this.revalidationNanos = revalidationNanos;
+        this.stamps = stamps;
+    }
+
+    /**
+     * Returns the cached configuration for the given class and file or uses the loader to create it, if there is no
+     * entry yet or the file has changed since it was loaded.
+     */
+    <T> T get(Class<T> clazz, String fileName, Loader<T> loader) throws IOException {
+        Key key = new Key(clazz, fileName);
+        Entry cached = entries.get(key);
+        long now = System.nanoTime();
+        if (cached != null && now - cached.validatedAt < revalidationNanos) {
+            hits.incrementAndGet();
+            return clazz.cast(cached.value);
+        }
+
+        return revalidate(clazz, key, cached, stampOf(key), now, loader);
+    }
+
+    /**
+     * Returns the cached configuration for the given class and file like {@link #get(Class, String, Loader)}, but
+     * compares the entry with the given change stamp. The stamp must have been taken before the loader reads the
+     * file, so content read before a change is never cached under the stamp of the change.
+     */
+    <T> T get(Class<T> clazz, String fileName, Object stamp, Loader<T> loader) throws IOException {
+        Key key = new Key(clazz, fileName);
+        return revalidate(clazz, key, entries.get(key), stamp, System.nanoTime(), loader);
+    }
+
+    private <T> T revalidate(Class<T> clazz, Key key, Entry cached, Object stamp, long now, Loader<T> loader)
+            throws IOException {
+        if (cached != null && cached.stamp.equals(stamp)) {
+            entries.replace(key, cached, new Entry(cached.value, stamp, now));
+            hits.incrementAndGet();
+            return clazz.cast(cached.value);
+        }
+
+        misses.incrementAndGet();
+        T value = loader.load();
+        entries.put(key, new Entry(value, stamp, now));
+        return value;
+    }
+
+    CacheStats stats() {
+        return new CacheStats(hits.get(), misses.get());
+    }
+
+    private Object stampOf(Key key) throws IOException {
+        try {
+            return stamps.stampOf(key.fileName);
+        } catch (IllegalArgumentException e) {
+            entries.remove(key);
+            throw e;
+        }
+    }
+
+    interface Loader<T> {
+        T load() throws IOException;
+    }
+
+    /**
+     * Provides the change stamps of the cached files. Throws an {@link IllegalArgumentException} if a file does not
+     * exist anymore.
+     */
+    interface Stamps {
+        Object stampOf(String fileName) throws IOException;
+    }
+
+    /**
+     * Identifies a configuration by its class and file.
+     */
+    static final class Key {
+        private final Class<?> clazz;
+        private final String fileName;
+
+        Key(Class<?> clazz, String fileName) {
+            this.clazz = clazz;
+            this.fileName = fileName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key that = (Key) o;
+            return clazz.equals(that.clazz) && fileName.equals(that.fileName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(clazz, fileName);
+        }
+    }
+
+    private static class Entry {
+        private final Object value;
+        private final Object stamp;
+        private final long validatedAt;
+
+        private Entry(Object value, Object stamp, long validatedAt) {
+            this.value = value;
+            this.stamp = stamp;
+            this.validatedAt = validatedAt;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.tommy1199.appconfigr;
+
+/**
+ * Gets notified by a {@link ConfigHandle} when the watched configuration file was reloaded.
+ * <p>
+ * Listeners are called on the thread watching the file. An exception thrown by a listener is logged with
+ * {@code java.util.logging} and does not keep the other listeners from being notified.
+ *
+ * @param <T> the type of the configuration
+ */
+public interface ConfigChangeListener<T> {
+
+    /**
+     * Called after the configuration was reloaded successfully and the new value has been published by the handle.
+     *
+     * @param previous the configuration which was published before the reload
+     * @param current  the reloaded configuration
+     */
+    void onChange(T previous, T current);
+
+    /**
+     * Called if the changed configuration file could not be reloaded. The handle keeps publishing the last
+     * successfully loaded configuration.
+     *
+     * @param cause the reason why the configuration could not be loaded
+     */
+    void onFailure(Exception cause);
+}
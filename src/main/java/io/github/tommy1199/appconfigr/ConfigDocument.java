@@ -0,0 +1,116 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Throwables;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A configuration file which is read, resolved and parsed once, so several classes can be bound from its sections
+ * without parsing the file again. Instances are created by {@link AppConfigr#getDocument(String)} and, for each
+ * document of a multi-document file, by {@link AppConfigr#getDocuments(String)}.
+ * <p>
+ * The document keeps the resolved tree and is not updated if the file changes. Each call of {@link #get(Class,
+ * String)} binds a new instance, so bound configurations should be kept by the caller.
+ */
+public final class ConfigDocument {
+    private final Path path;
+    private final JsonNode tree;
+    private final Binder binder;
+
+    ConfigDocument(Path path, JsonNode tree, Binder binder) {
+        this.path = path;
+        this.tree = tree;
+        this.binder = binder;
+    }
+
+    /**
+     * Binds the whole document to the given class.
+     *
+     * @param clazz the class used for the mapping
+     * @return the bound configuration data
+     */
+    public <T> T get(Class<T> clazz) {
+        return get(clazz, "");
+    }
+
+    /**
+     * Binds a section of the document to the given class. The section is addressed by a Json Pointer like
+     * {@code /services/routing}. Interfaces are implemented like by {@link AppConfigr#getConfig(Class, String)}.
+     *
+     * @param clazz       the class used for the mapping
+     * @param jsonPointer the pointer to the section to be bound, an empty string addresses the whole document
+     * @return the bound configuration data
+     * @throws IllegalArgumentException if the pointer is invalid or the section cannot be found in the document.
+     */
+    public <T> T get(Class<T> clazz, String jsonPointer) {
+        checkNotNull(clazz, "The given class must not be null");
+        JsonNode section = sectionAt(jsonPointer);
+        T config = null;
+        try {
+            config = binder.bind(clazz, section);
+        } catch (IOException e) {
+            Throwables.propagate(e);
+        }
+        return config;
+    }
+
+    /**
+     * Returns whether the document contains a section at the given Json Pointer.
+     *
+     * @throws IllegalArgumentException if the pointer is invalid
+     */
+    public boolean contains(String jsonPointer) {
+        JsonPointer pointer = JsonPointer.compile(checkNotNull(jsonPointer, "The given pointer must not be null"));
+        return !tree.at(pointer)
+                .isMissingNode();
+    }
+
+    /**
+     * Returns a view of the section at the given Json Pointer, like {@link AppConfigr#getView(String)} does for a
+     * whole file.
+     *
+     * @throws IllegalArgumentException if the pointer is invalid or the section cannot be found in the document.
+     */
+    public ConfigView getView(String jsonPointer) {
+        return ConfigView.of(sectionAt(jsonPointer));
+    }
+
+    /**
+     * Returns the resolved text value at the given Json Pointer, e.g. to tell the documents of a multi-document file
+     * apart by a field like {@code /kind}, or {@code null} if there is no such value.
+     *
+     * @throws IllegalArgumentException if the pointer is invalid
+     */
+    public String getText(String jsonPointer) {
+        JsonPointer pointer = JsonPointer.compile(checkNotNull(jsonPointer, "The given pointer must not be null"));
+        JsonNode node = tree.at(pointer);
+        return node.isValueNode() && !node.isNull() ? node.asText() : null;
+    }
+
+    private JsonNode sectionAt(String jsonPointer) {
+        JsonPointer pointer = JsonPointer.compile(checkNotNull(jsonPointer, "The given pointer must not be null"));
+        JsonNode section = tree.at(pointer);
+        if (section.isMissingNode()) {
+            throw new IllegalArgumentException("The given pointer [" + jsonPointer + "] can not be found in [" +
+                    path + "]");
+        }
+        return section;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigDocument{path=" + path + "}";
+    }
+
+    /**
+     * Binds a section of the document, implemented by the {@link AppConfigr} which created the document.
+     */
+    interface Binder {
+        <T> T bind(Class<T> clazz, JsonNode section) throws IOException;
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.tommy1199.appconfigr;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * A configuration file of a source, as seen by a single load. The content is read from the source at most once, so a
+ * load which needs it several times, like finding the variables of an asynchronous load before binding it, shares
+ * the first read.
+ */
+final class ConfigFile {
+    private final ConfigSource source;
+    private final String name;
+    private final Path path;
+    private byte[] content;
+
+    ConfigFile(ConfigSource source, String name, Path path) {
+        this.source = source;
+        this.name = name;
+        this.path = path;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the path of the file for messages and metrics.
+     */
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the content of the file, which is read from the source on the first call. The read is counted by the
+     * given recorder, if it is not {@code null}.
+     */
+    byte[] content(LoadRecorder recorder) throws IOException {
+        long start = System.nanoTime();
+        if (content == null) {
+            try (InputStream input = source.open(name)) {
+                content = ByteStreams.toByteArray(input);
+            }
+        }
+        if (recorder != null) {
+            recorder.read(content.length, System.nanoTime() - start);
+        }
+        return content;
+    }
+
+    /**
+     * Opens the content of the file, from memory if it has been read already and from the source otherwise.
+     */
+    InputStream open() throws IOException {
+        return content != null ? new ByteArrayInputStream(content) : source.open(name);
+    }
+}
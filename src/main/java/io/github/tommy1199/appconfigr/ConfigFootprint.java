@@ -0,0 +1,290 @@
+package io.github.tommy1199.appconfigr;
+
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Estimated heap footprint of a bound configuration, created by {@link #of(Object)}. All objects reachable from the
+ * configuration are counted once. Strings which are equal to an already counted string, but a different instance,
+ * are reported as duplicates, they are what {@link AppConfigr.Builder#withCompactValues()} saves.
+ * <p>
+ * The sizes are estimated for a 64 bit JVM with compressed references and compact strings. The internals of JDK
+ * classes are not inspected, the sizes of collections are derived from their class and number of elements.
+ */
+public final class ConfigFootprint {
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private final long bytes;
+    private final int objects;
+    private final int strings;
+    private final int duplicateStrings;
+    private final long duplicateStringBytes;
+
+    private ConfigFootprint(long bytes, int objects, int strings, int duplicateStrings, long duplicateStringBytes) {
+        this.bytes = bytes;
+        this.objects = objects;
+        this.strings = strings;
+        this.duplicateStrings = duplicateStrings;
+        this.duplicateStringBytes = duplicateStringBytes;
+    }
+
+    /**
+     * Estimates the footprint of the given configuration and all objects reachable from it.
+     *
+     * @throws NullPointerException if the given configuration is {@code null}
+     */
+    public static ConfigFootprint of(Object config) {
+        checkNotNull(config, "The given config must not be null");
+        Walker walker = new Walker();
+        walker.walk(config);
+        return new ConfigFootprint(walker.bytes, walker.visited.size(), walker.strings, walker.duplicateStrings,
+                walker.duplicateStringBytes);
+    }
+
+    /**
+     * Returns the estimated number of bytes of all reachable objects.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the number of all reachable objects.
+     */
+    public int getObjects() {
+        return objects;
+    }
+
+    /**
+     * Returns the number of all reachable strings.
+     */
+    public int getStrings() {
+        return strings;
+    }
+
+    /**
+     * Returns the number of strings which are equal to another reachable string instance.
+     */
+    public int getDuplicateStrings() {
+        return duplicateStrings;
+    }
+
+    /**
+     * Returns the estimated number of bytes of all duplicate strings.
+     */
+    public long getDuplicateStringBytes() {
+        return duplicateStringBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigFootprint{bytes=" + bytes + ", objects=" + objects + ", strings=" + strings +
+                ", duplicateStrings=" + duplicateStrings + ", duplicateStringBytes=" + duplicateStringBytes + "}";
+    }
+
+    private static class Walker {
+        private final Map<Object, Object> visited = new IdentityHashMap<>();
+        private final Map<String, String> firstStrings = new HashMap<>();
+        private final Deque<Object> pending = new ArrayDeque<>();
+        private long bytes;
+        private int strings;
+        private int duplicateStrings;
+        private long duplicateStringBytes;
+
+        private void walk(Object root) {
+            push(root);
+            while (!pending.isEmpty()) {
+                visit(pending.pop());
+            }
+        }
+
+        private void push(Object value) {
+            if (value != null && !(value instanceof Class) && !(value instanceof Enum) && visited.put(value,
+                    value) == null) {
+                pending.push(value);
+            }
+        }
+
+        private void visit(Object value) {
+            Class<?> type = value.getClass();
+            if (value instanceof String) {
+                visitString((String) value);
+            } else if (type.isArray()) {
+                visitArray(value, type.getComponentType());
+            } else if (value instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                bytes += mapBytes(map);
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    push(entry.getKey());
+                    push(entry.getValue());
+                }
+            } else if (value instanceof Collection) {
+                Collection<?> collection = (Collection<?>) value;
+                bytes += collectionBytes(collection);
+                for (Object element : collection) {
+                    push(element);
+                }
+            } else if (type.getName()
+                    .startsWith("java.")) {
+                bytes += align(HEADER + 8);
+            } else {
+                visitObject(value, type);
+            }
+        }
+
+        private void visitString(String value) {
+            long size = align(HEADER + 12) + align(ARRAY_HEADER + value.length() * (isLatin1(value) ? 1 : 2));
+            bytes += size;
+            strings++;
+            String first = firstStrings.putIfAbsent(value, value);
+            if (first != null && first != value) {
+                duplicateStrings++;
+                duplicateStringBytes += size;
+            }
+        }
+
+        private void visitArray(Object array, Class<?> componentType) {
+            int length = Array.getLength(array);
+            bytes += align(ARRAY_HEADER + (long) length * sizeOf(componentType));
+            if (!componentType.isPrimitive()) {
+                for (int i = 0; i < length; i++) {
+                    push(Array.get(array, i));
+                }
+            }
+        }
+
+        private void visitObject(Object value, Class<?> type) {
+            long size = HEADER;
+            for (Class<?> current = type; current != null && current != Object.class; current = current
+                    .getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    size += sizeOf(field.getType());
+                    if (!field.getType()
+                            .isPrimitive()) {
+                        push(valueOf(field, value));
+                    }
+                }
+            }
+            bytes += align(size);
+        }
+
+        private static Object valueOf(Field field, Object owner) {
+            try {
+                field.setAccessible(true);
+                return field.get(owner);
+            } catch (IllegalAccessException | RuntimeException e) {
+                // fields which cannot be accessed are counted without their values
+                return null;
+            }
+        }
+
+        private static long collectionBytes(Collection<?> collection) {
+            int size = collection.size();
+            if (collection instanceof ArrayList) {
+                return align(HEADER + 12) + (size == 0 ? 0 : referenceArray(arrayListCapacity(size)));
+            }
+            if (collection instanceof HashSet) {
+                return align(HEADER + 4) + hashMapBytes(size, collection instanceof LinkedHashSet);
+            }
+            if (collection instanceof ImmutableSet) {
+                return size == 0 ? 0 : align(HEADER + 12) + referenceArray(size) + referenceArray(tableSize(size, 0.7));
+            }
+            if (collection instanceof ImmutableCollection) {
+                return size == 0 ? 0 : align(HEADER + 4) + referenceArray(size);
+            }
+            return align(HEADER + 8) + referenceArray(size);
+        }
+
+        private static long mapBytes(Map<?, ?> map) {
+            int size = map.size();
+            if (map instanceof HashMap) {
+                return hashMapBytes(size, map instanceof LinkedHashMap);
+            }
+            if (map instanceof ImmutableMap) {
+                return size == 0 ? 0 : align(HEADER + 12) + referenceArray(size) + referenceArray(tableSize(size,
+                        1.2)) + (long) size * align(HEADER + 2 * REFERENCE);
+            }
+            return align(HEADER + 8) + referenceArray(size) + (long) size * align(HEADER + 2 * REFERENCE);
+        }
+
+        private static long hashMapBytes(int size, boolean linked) {
+            long map = align(HEADER + 36 + (linked ? 9 : 0));
+            if (size == 0) {
+                return map;
+            }
+            return map + referenceArray(tableSize(size, 0.75)) + (long) size * align(HEADER + 16 + (linked ? 8 :
+                    0));
+        }
+
+        private static int arrayListCapacity(int size) {
+            int capacity = 10;
+            while (capacity < size) {
+                capacity += capacity >> 1;
+            }
+            return capacity;
+        }
+
+        private static int tableSize(int size, double loadFactor) {
+            int table = 1;
+            while (table * loadFactor < size) {
+                table <<= 1;
+            }
+            return Math.max(table, 2);
+        }
+
+        private static long referenceArray(int length) {
+            return align(ARRAY_HEADER + (long) length * REFERENCE);
+        }
+
+        private static int sizeOf(Class<?> type) {
+            if (type == long.class || type == double.class) {
+                return 8;
+            }
+            if (type == int.class || type == float.class) {
+                return 4;
+            }
+            if (type == short.class || type == char.class) {
+                return 2;
+            }
+            if (type == byte.class || type == boolean.class) {
+                return 1;
+            }
+            return REFERENCE;
+        }
+
+        private static boolean isLatin1(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) > 0xFF) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long align(long size) {
+            return (size + 7) & ~7L;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.collect.ImmutableList;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Selects the format of a configuration file by its extension. Without format detection all files are read with the
+ * configured default format. With format detection, files with the extensions .yaml and .yml are read as yaml and
+ * files with the extension .json as Json, all other files still with the default format.
+ * <p>
+ * There is one mapper per format, which is shared by all files of the format, so each class is introspected only
+ * once per format.
+ */
+class ConfigFormats {
+    /**
+     * The suffixes which are tried after the default suffix, if the file name is derived from a class name.
+     */
+    static final List<String> DETECTED_SUFFIXES = ImmutableList.of(".yaml", ".yml", ".json");
+
+    private final Format defaultFormat;
+    private final Map<String, Format> formatsBySuffix = new HashMap<>();
+
+    ConfigFormats(ObjectMapper defaultMapper, Map<String, ObjectMapper> mappersBySuffix) {
+        this.defaultFormat = new Format(defaultMapper);
+        Map<ObjectMapper, Format> formats = new IdentityHashMap<>();
+        formats.put(defaultMapper, defaultFormat);
+        for (Map.Entry<String, ObjectMapper> mapper : mappersBySuffix.entrySet()) {
+            Format format = formats.get(mapper.getValue());
+            if (format == null) {
+                format = new Format(mapper.getValue());
+                formats.put(mapper.getValue(), format);
+            }
+            formatsBySuffix.put(mapper.getKey(), format);
+        }
+    }
+
+    /**
+     * Returns whether files are read by the format of their extension.
+     */
+    boolean isDetecting() {
+        return !formatsBySuffix.isEmpty();
+    }
+
+    /**
+     * Returns whether the given file is read by the format of its extension.
+     */
+    boolean isDetected(String fileName) {
+        return formatsBySuffix.containsKey(suffixOf(fileName));
+    }
+
+    /**
+     * Returns the format of the given file.
+     */
+    Format of(String fileName) {
+        if (formatsBySuffix.isEmpty()) {
+            return defaultFormat;
+        }
+        Format format = formatsBySuffix.get(suffixOf(fileName));
+        return format == null ? defaultFormat : format;
+    }
+
+    Format getDefault() {
+        return defaultFormat;
+    }
+
+    /**
+     * Returns all distinct formats, starting with the default format.
+     */
+    Collection<Format> all() {
+        List<Format> all = new ArrayList<>();
+        all.add(defaultFormat);
+        for (Format format : formatsBySuffix.values()) {
+            if (!all.contains(format)) {
+                all.add(format);
+            }
+        }
+        return all;
+    }
+
+    private static String suffixOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot);
+    }
+
+    /**
+     * A format with its mapper and the readers created by the mapper.
+     */
+    static class Format {
+        private final ObjectMapper mapper;
+        private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+        private Format(ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        ObjectMapper getMapper() {
+            return mapper;
+        }
+
+        JsonFactory getFactory() {
+            return mapper.getFactory();
+        }
+
+        /**
+         * Returns the reader for the given type, like a class or a generic list. Readers are created on first use and
+         * hold the deserializer of their type, so it is looked up only once.
+         */
+        ObjectReader readerFor(Type type) {
+            ObjectReader reader = readers.get(type);
+            if (reader == null) {
+                ObjectReader created = mapper.readerFor(mapper.constructType(type));
+                reader = readers.putIfAbsent(type, created);
+                if (reader == null) {
+                    reader = created;
+                }
+            }
+            return reader;
+        }
+
+        /**
+         * Returns whether a reader for the given type has already been created.
+         */
+        boolean hasReader(Type type) {
+            return readers.containsKey(type);
+        }
+    }
+}
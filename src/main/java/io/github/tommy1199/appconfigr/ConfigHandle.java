@@ -0,0 +1,116 @@
+package io.github.tommy1199.appconfigr;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Holds a configuration which is reloaded whenever its file changes. Instances are created by
+ * {@link AppConfigr#watch(Class, String)}.
+ * <p>
+ * Reading the current configuration with {@link #get()} is lock-free and can be done on hot paths. If a changed file
+ * cannot be loaded, the last successfully loaded configuration stays in place.
+ *
+ * @param <T> the type of the configuration
+ */
+public final class ConfigHandle<T> implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(ConfigHandle.class.getName());
+    private final Path path;
+    private final ConfigCache.Loader<T> loader;
+    private final AtomicReference<T> current = new AtomicReference<>();
+    private final CopyOnWriteArrayList<ConfigChangeListener<? super T>> listeners = new CopyOnWriteArrayList<>();
+    private volatile ConfigWatcher watcher;
+
+    ConfigHandle(Path path, ConfigCache.Loader<T> loader) {
+        this.path = path;
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the most recently loaded configuration.
+     *
+     * @return the current configuration
+     */
+    public T get() {
+        return current.get();
+    }
+
+    /**
+     * Registers a listener which gets notified after each reload of the configuration.
+     *
+     * @return this handle
+     * @throws NullPointerException if the given listener is {@code null}
+     */
+    public ConfigHandle<T> addListener(ConfigChangeListener<? super T> listener) {
+        listeners.add(checkNotNull(listener, "The given listener must not be null"));
+        return this;
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @return this handle
+     */
+    public ConfigHandle<T> removeListener(ConfigChangeListener<? super T> listener) {
+        listeners.remove(listener);
+        return this;
+    }
+
+    /**
+     * Stops watching the configuration file. The last loaded configuration is still returned by {@link #get()}.
+     */
+    @Override
+    public void close() {
+        ConfigWatcher registered = watcher;
+        if (registered != null) {
+            watcher = null;
+            registered.unregister(this);
+        }
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    void watchedBy(ConfigWatcher watcher) {
+        this.watcher = watcher;
+    }
+
+    void initialize() throws IOException {
+        current.compareAndSet(null, loader.load());
+    }
+
+    /**
+     * Reloads the configuration and notifies the listeners. An exception thrown by a listener is logged and does not
+     * keep the other listeners from being notified.
+     */
+    void reload() {
+        T loaded;
+        try {
+            loaded = loader.load();
+        } catch (Exception e) {
+            for (ConfigChangeListener<? super T> listener : listeners) {
+                try {
+                    listener.onFailure(e);
+                } catch (RuntimeException listenerException) {
+                    LOGGER.log(Level.WARNING, "A listener of [" + path + "] failed", listenerException);
+                }
+            }
+            return;
+        }
+        T previous = current.getAndSet(loaded);
+        for (ConfigChangeListener<? super T> listener : listeners) {
+            try {
+                listener.onChange(previous, loaded);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "A listener of [" + path + "] failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.CountingInputStream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Reads a configuration file from ordered layers and deep merges them into a single tree. The base source is the
+ * first layer, every overlay source may contain a file with the same name which overrides single values of the
+ * layers before. Objects are merged field by field, all other values are replaced as a whole. System properties with
+ * the configured prefix form the last layer.
+ * <p>
+ * Parsed layers are shared by all configurations and all instances. A layer is identified by its source, file name,
+ * format and change stamp, so a change of one layer only leads to parsing this layer again. The layer of the system
+ * properties is identified by the properties it consists of. The shared trees are never modified, merging always
+ * works on a copy.
+ */
+class ConfigLayers {
+    private static final int MAX_PARSED_LAYERS = 1024;
+    private static final Object SYSTEM_PROPERTIES = "system properties";
+    private static final Cache<Key, JsonNode> PARSED = CacheBuilder.newBuilder()
+            .maximumSize(MAX_PARSED_LAYERS)
+            .softValues()
+            .build();
+
+    private final List<ConfigSource> overlays;
+    private final String systemPropertyPrefix;
+
+    ConfigLayers(List<ConfigSource> overlays, String systemPropertyPrefix) {
+        this.overlays = new ArrayList<>(overlays);
+        this.systemPropertyPrefix = systemPropertyPrefix;
+    }
+
+    /**
+     * Returns the change stamps of the given file, all its overlays and the system properties overriding it. The stamps
+     * are equal as long as no layer has been changed, added or removed.
+     *
+     * @throws java.nio.file.NoSuchFileException if the given file does not exist in the base source
+     */
+    List<Object> changeStamps(ConfigSource base, String fileName) throws IOException {
+        List<Object> stamps = new ArrayList<>(overlays.size() + 1);
+        stamps.add(base.changeStamp(fileName));
+        for (ConfigSource overlay : overlays) {
+            stamps.add(overlay.exists(fileName) ? overlay.changeStamp(fileName) : null);
+        }
+        if (systemPropertyPrefix != null) {
+            stamps.add(systemProperties(systemPropertyPrefixOf(fileName)));
+        }
+        return stamps;
+    }
+
+    /**
+     * Returns the merged tree of the given file and all its overlays with all variables resolved.
+     */
+    JsonNode load(ConfigSource base, String fileName, ObjectMapper mapper, VariableResolver resolver)
+            throws IOException {
+        return resolve(merged(base, fileName, mapper, null), resolver, null);
+    }
+
+    /**
+     * Returns the names of all variables in the merged tree of the given file and all its overlays.
+     */
+    Set<String> variableNames(ConfigSource base, String fileName, ObjectMapper mapper) throws IOException {
+        Set<String> names = new LinkedHashSet<>();
+        collectVariableNames(merged(base, fileName, mapper, null), names);
+        return names;
+    }
+
+    /**
+     * Returns the merged but unresolved tree of the given file and all its overlays. The tree is a copy, which may be
+     * modified. The bytes of the layers which are not shared yet and have to be read are reported to the given
+     * recorder, if any.
+     */
+    JsonNode merged(ConfigSource base, String fileName, ObjectMapper mapper, LoadRecorder recorder)
+            throws IOException {
+        JsonNode baseTree = parse(base, fileName, mapper, recorder);
+        if (baseTree == null) {
+            throw new ConfigurationException("The given file is empty [" + fileName + "] in [" + base + "]");
+        }
+        JsonNode merged = baseTree.deepCopy();
+        for (ConfigSource overlay : overlays) {
+            if (overlay.exists(fileName)) {
+                JsonNode tree = parse(overlay, fileName, mapper, recorder);
+                if (tree != null) {
+                    merged = merge(merged, tree);
+                }
+            }
+        }
+        if (systemPropertyPrefix != null) {
+            merged = merge(merged, systemPropertyLayer(mapper, systemPropertyPrefixOf(fileName)));
+        }
+        return merged;
+    }
+
+    /**
+     * Returns the parsed but unresolved tree of the given file or {@code null} if the file is empty. The tree is
+     * shared and must not be modified.
+     */
+    static JsonNode parse(ConfigSource source, String fileName, ObjectMapper mapper) throws IOException {
+        return parse(source, fileName, mapper, null);
+    }
+
+    private static JsonNode parse(ConfigSource source, String fileName, ObjectMapper mapper, LoadRecorder recorder)
+            throws IOException {
+        Key key = new Key(source, fileName, mapper.getFactory()
+                .getFormatName(), source.changeStamp(fileName));
+        JsonNode cached = PARSED.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        JsonNode tree;
+        try (CountingInputStream input = new CountingInputStream(source.open(fileName))) {
+            tree = mapper.readTree(input);
+            if (recorder != null) {
+                recorder.read(input.getCount(), 0);
+            }
+        }
+        if (tree != null) {
+            PARSED.put(key, tree);
+        }
+        return tree;
+    }
+
+    /**
+     * Merges the given overlay into the given target and returns the result. The target is modified, the overlay is
+     * copied.
+     */
+    static JsonNode merge(JsonNode target, JsonNode overlay) {
+        if (!target.isObject() || !overlay.isObject()) {
+            return overlay.deepCopy();
+        }
+        ObjectNode object = (ObjectNode) target;
+        Iterator<Map.Entry<String, JsonNode>> fields = overlay.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode existing = object.get(field.getKey());
+            object.set(field.getKey(), existing == null ? field.getValue()
+                    .deepCopy() : merge(existing, field.getValue()));
+        }
+        return object;
+    }
+
+    private String systemPropertyPrefixOf(String fileName) {
+        return systemPropertyPrefix + baseName(fileName) + ".";
+    }
+
+    /**
+     * Returns the layer of the system properties with the given prefix. The layer is shared like the parsed files and
+     * must not be modified.
+     */
+    private static JsonNode systemPropertyLayer(ObjectMapper mapper, String prefix) {
+        SortedMap<String, String> properties = systemProperties(prefix);
+        Key key = new Key(SYSTEM_PROPERTIES, prefix, mapper.getFactory()
+                .getFormatName(), properties);
+        JsonNode cached = PARSED.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        ObjectNode layer = mapper.createObjectNode();
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            ObjectNode parent = layer;
+            String[] path = property.getKey()
+                    .substring(prefix.length())
+                    .split("\\.");
+            for (int i = 0; i < path.length - 1; i++) {
+                JsonNode child = parent.get(path[i]);
+                parent = child instanceof ObjectNode ? (ObjectNode) child : parent.putObject(path[i]);
+            }
+            parent.put(path[path.length - 1], property.getValue());
+        }
+        PARSED.put(key, layer);
+        return layer;
+    }
+
+    /**
+     * Returns the system properties with the given prefix, sorted by name so equal properties give equal maps.
+     */
+    private static SortedMap<String, String> systemProperties(String prefix) {
+        SortedMap<String, String> properties = new TreeMap<>();
+        for (String name : System.getProperties()
+                .stringPropertyNames()) {
+            if (name.startsWith(prefix) && name.length() > prefix.length()) {
+                properties.put(name, System.getProperty(name));
+            }
+        }
+        return properties;
+    }
+
+    private static void collectVariableNames(JsonNode node, Set<String> names) {
+        if (node.isTextual()) {
+            Variables.addNames(node.textValue(), names);
+        } else {
+            for (JsonNode child : node) {
+                collectVariableNames(child, names);
+            }
+        }
+    }
+
+    /**
+     * Resolves all variables in the string values of the given merged tree, which is modified. Each found variable is
+     * counted by the given recorder, if it is not {@code null}.
+     */
+    static JsonNode resolve(JsonNode merged, VariableResolver resolver, LoadRecorder recorder) {
+        Set<String> names = new LinkedHashSet<>();
+        collectVariableNames(merged, names);
+        return resolve(merged, resolver, resolver.getResults(names), recorder);
+    }
+
+    private static JsonNode resolve(JsonNode node, VariableResolver resolver,
+                                    Map<String, VariableResolver.Result> resolved, LoadRecorder recorder) {
+        if (node.isTextual()) {
+            String text = node.textValue();
+            String replaced = Variables.replace(text, resolver, resolved, recorder);
+            return replaced.equals(text) ? node : TextNode.valueOf(replaced);
+        }
+        if (node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                field.setValue(resolve(field.getValue(), resolver, resolved, recorder));
+            }
+        } else if (node.isArray()) {
+            ArrayNode array = (ArrayNode) node;
+            for (int i = 0; i < array.size(); i++) {
+                array.set(i, resolve(array.get(i), resolver, resolved, recorder));
+            }
+        }
+        return node;
+    }
+
+    private static String baseName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    private static class Key {
+        private final Object source;
+        private final String fileName;
+        private final String format;
+        private final Object stamp;
+
+        private Key(Object source, String fileName, String format, Object stamp) {
+            this.source = source;
+            this.fileName = fileName;
+            this.format = format;
+            this.stamp = stamp;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key that = (Key) o;
+            return source.equals(that.source) && fileName.equals(that.fileName) && format.equals(that.format) &&
+                    stamp.equals(that.stamp);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, fileName, format, stamp);
+        }
+    }
+}
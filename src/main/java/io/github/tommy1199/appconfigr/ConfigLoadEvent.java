@@ -0,0 +1,145 @@
+package io.github.tommy1199.appconfigr;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Statistics of a single load of a configuration file, passed to a {@link ConfigMetricsListener}.
+ * <p>
+ * With {@link AppConfigr.Builder#withStreamingResolution()} the file is read while it is parsed, so the read time is
+ * part of the bind time and only the time spent in the resolvers is reported as resolve time.
+ */
+public final class ConfigLoadEvent {
+    private final Path path;
+    private final long bytesRead;
+    private final long readNanos;
+    private final long resolveNanos;
+    private final long bindNanos;
+    private final int variableCount;
+    private final List<ResolverStats> resolverStats;
+    private final Exception failure;
+
+    ConfigLoadEvent(Path path, long bytesRead, long readNanos, long resolveNanos, long bindNanos, int variableCount,
+                    List<ResolverStats> resolverStats, Exception failure) {
+        this.path = path;
+        this.bytesRead = bytesRead;
+        this.readNanos = readNanos;
+        this.resolveNanos = resolveNanos;
+        this.bindNanos = bindNanos;
+        this.variableCount = variableCount;
+        this.resolverStats = resolverStats;
+        this.failure = failure;
+    }
+
+    /**
+     * Returns the path of the loaded file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the number of bytes read from the file.
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Returns the time spent reading the file in nanoseconds.
+     */
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    /**
+     * Returns the time spent resolving variables in nanoseconds.
+     */
+    public long getResolveNanos() {
+        return resolveNanos;
+    }
+
+    /**
+     * Returns the time spent parsing and binding the content in nanoseconds.
+     */
+    public long getBindNanos() {
+        return bindNanos;
+    }
+
+    /**
+     * Returns the sum of the read, resolve and bind times in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return readNanos + resolveNanos + bindNanos;
+    }
+
+    /**
+     * Returns the number of variables found in the file.
+     */
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    /**
+     * Returns the hits and misses of each resolver used during the load, in the order of the fallback chain.
+     */
+    public List<ResolverStats> getResolverStats() {
+        return resolverStats;
+    }
+
+    /**
+     * Returns {@code true} if the configuration was loaded successfully.
+     */
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+
+    /**
+     * Returns the reason why the load failed or {@code null} if it was successful.
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigLoadEvent[path=" + path + ", bytesRead=" + bytesRead + ", readNanos=" + readNanos +
+                ", resolveNanos=" + resolveNanos + ", bindNanos=" + bindNanos + ", variableCount=" + variableCount +
+                ", resolverStats=" + resolverStats + ", failure=" + failure + "]";
+    }
+
+    /**
+     * Number of variables a single resolver of the fallback chain could or could not resolve.
+     */
+    public static final class ResolverStats {
+        private final String name;
+        private final int hits;
+        private final int misses;
+
+        ResolverStats(String name, int hits, int misses) {
+            this.name = name;
+            this.hits = hits;
+            this.misses = misses;
+        }
+
+        /**
+         * Returns the name of the resolver, which is the result of its {@code toString()} method.
+         */
+        public String getName() {
+            return name;
+        }
+
+        public int getHits() {
+            return hits;
+        }
+
+        public int getMisses() {
+            return misses;
+        }
+
+        @Override
+        public String toString() {
+            return name + "[hits=" + hits + ", misses=" + misses + "]";
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.tommy1199.appconfigr;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Simple {@link ConfigMetricsListener} which aggregates the load events and provides percentiles of the timings of
+ * each phase. The percentiles are calculated from the most recent loads, by default the last 1024.
+ */
+public class ConfigMetricsAggregator implements ConfigMetricsListener {
+    private static final int DEFAULT_WINDOW_SIZE = 1024;
+
+    /**
+     * The phases of a load.
+     */
+    public enum Phase {
+        READ, RESOLVE, BIND, TOTAL
+    }
+
+    private final long[][] samples;
+    private long loadCount;
+    private long failureCount;
+    private long bytesRead;
+
+    /**
+     * Creates an aggregator which keeps the timings of the last 1024 loads.
+     */
+    public ConfigMetricsAggregator() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates an aggregator which keeps the timings of the given number of loads.
+     *
+     * @throws IllegalArgumentException if the window size is not positive
+     */
+    public ConfigMetricsAggregator(int windowSize) {
+        checkArgument(windowSize > 0, "The window size must be positive");
+        samples = new long[Phase.values().length][windowSize];
+    }
+
+    @Override
+    public synchronized void onLoad(ConfigLoadEvent event) {
+        int index = (int) (loadCount % samples[0].length);
+        samples[Phase.READ.ordinal()][index] = event.getReadNanos();
+        samples[Phase.RESOLVE.ordinal()][index] = event.getResolveNanos();
+        samples[Phase.BIND.ordinal()][index] = event.getBindNanos();
+        samples[Phase.TOTAL.ordinal()][index] = event.getTotalNanos();
+        loadCount++;
+        bytesRead += event.getBytesRead();
+        if (!event.isSuccessful()) {
+            failureCount++;
+        }
+    }
+
+    /**
+     * Returns the given percentile of the durations of a phase in nanoseconds, e.g. {@code percentile(Phase.TOTAL,
+     * 99)} for the 99th percentile of the total load time. Returns {@code 0} if no load was recorded yet.
+     *
+     * @param phase      the phase of the load
+     * @param percentile the percentile between 0 and 100
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100
+     * @throws NullPointerException     if the given phase is {@code null}
+     */
+    public synchronized long percentile(Phase phase, double percentile) {
+        checkNotNull(phase, "The given phase must not be null");
+        checkArgument(percentile >= 0 && percentile <= 100, "The percentile must be between 0 and 100");
+        int count = (int) Math.min(loadCount, samples[0].length);
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples[phase.ordinal()], count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Returns the number of all recorded loads.
+     */
+    public synchronized long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Returns the number of all recorded loads which failed.
+     */
+    public synchronized long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Returns the number of bytes read by all recorded loads.
+     */
+    public synchronized long getBytesRead() {
+        return bytesRead;
+    }
+}
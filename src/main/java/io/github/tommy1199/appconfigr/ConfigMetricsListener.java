@@ -0,0 +1,18 @@
+package io.github.tommy1199.appconfigr;
+
+/**
+ * Receives the timings and statistics of every configuration file loaded by an {@link AppConfigr} instance. The
+ * listener is registered with {@link AppConfigr.Builder#withMetricsListener(ConfigMetricsListener)}.
+ * <p>
+ * The listener is called on the loading thread, so implementations should be fast and thread-safe. An exception thrown
+ * by the listener is logged with {@code java.util.logging} and does not fail the load.
+ */
+public interface ConfigMetricsListener {
+
+    /**
+     * Called after a configuration file was loaded, both on success and on failure.
+     *
+     * @param event the statistics of the load
+     */
+    void onLoad(ConfigLoadEvent event);
+}
@@ -0,0 +1,25 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Reads a configuration class directly from a streaming parser, without reflection. Implementations are generated
+ * for classes annotated with {@link AppConfig} and should not be written by hand.
+ */
+public interface ConfigReader<T> {
+
+    /**
+     * Returns the file name derived from the name of the configuration class.
+     */
+    String fileName();
+
+    /**
+     * Reads the configuration from the current value of the given parser. If the parser has no current token, it is
+     * moved to the first one. After the call, the parser is positioned at the end of the value.
+     *
+     * @return the configuration or {@code null} if the value is null
+     */
+    T read(JsonParser parser) throws IOException;
+}
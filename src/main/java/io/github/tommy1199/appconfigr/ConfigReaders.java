@@ -0,0 +1,125 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import java.io.IOException;
+
+/**
+ * Conversions used by generated {@link ConfigReader ConfigReaders}. Values with a token of the expected type are read
+ * directly from the parser. All other values, like numbers and booleans given as strings or null values, are passed
+ * to Jackson, so they are coerced exactly like by the binding with reflection.
+ */
+public final class ConfigReaders {
+
+    private ConfigReaders() {
+    }
+
+    /**
+     * Moves the parser to the start of an object.
+     *
+     * @return {@code true} if there is an object, {@code false} if the value is null or there is no content
+     * @throws JsonMappingException if the value is no object
+     */
+    public static boolean startObject(JsonParser parser, Class<?> type) throws IOException {
+        JsonToken token = parser.hasCurrentToken() ? parser.getCurrentToken() : parser.nextToken();
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw mismatch(parser, type.getName());
+        }
+        return true;
+    }
+
+    public static int readInt(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        return parser.readValueAs(Integer.TYPE);
+    }
+
+    public static Integer readBoxedInt(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        return parser.readValueAs(Integer.class);
+    }
+
+    public static long readLong(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        return parser.readValueAs(Long.TYPE);
+    }
+
+    public static Long readBoxedLong(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        return parser.readValueAs(Long.class);
+    }
+
+    public static float readFloat(JsonParser parser) throws IOException {
+        if (isNumber(parser)) {
+            return parser.getFloatValue();
+        }
+        return parser.readValueAs(Float.TYPE);
+    }
+
+    public static double readDouble(JsonParser parser) throws IOException {
+        if (isNumber(parser)) {
+            return parser.getDoubleValue();
+        }
+        return parser.readValueAs(Double.TYPE);
+    }
+
+    public static Double readBoxedDouble(JsonParser parser) throws IOException {
+        if (isNumber(parser)) {
+            return parser.getDoubleValue();
+        }
+        return parser.readValueAs(Double.class);
+    }
+
+    public static boolean readBoolean(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_TRUE || parser.getCurrentToken() == JsonToken.VALUE_FALSE) {
+            return parser.getCurrentToken() == JsonToken.VALUE_TRUE;
+        }
+        return parser.readValueAs(Boolean.TYPE);
+    }
+
+    public static Boolean readBoxedBoolean(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_TRUE || parser.getCurrentToken() == JsonToken.VALUE_FALSE) {
+            return parser.getCurrentToken() == JsonToken.VALUE_TRUE;
+        }
+        return parser.readValueAs(Boolean.class);
+    }
+
+    public static String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            throw mismatch(parser, "String");
+        }
+        return parser.getText();
+    }
+
+    /**
+     * Returns the exception for a field of the input which does not exist in the given class.
+     */
+    public static JsonMappingException unknownField(JsonParser parser, Class<?> type, String field) {
+        return JsonMappingException.from(parser, "Unrecognized field [" + field + "] for [" + type.getName() + "]");
+    }
+
+    private static boolean isNumber(JsonParser parser) {
+        return parser.getCurrentToken() == JsonToken.VALUE_NUMBER_INT ||
+                parser.getCurrentToken() == JsonToken.VALUE_NUMBER_FLOAT;
+    }
+
+    private static JsonMappingException mismatch(JsonParser parser, String type) {
+        return JsonMappingException.from(parser, "Can not read [" + parser.getCurrentToken() + "] as [" + type + "]");
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable set of preloaded configurations, created by {@link AppConfigr#preload(java.util.Collection)} and
+ * {@link AppConfigr#preloadDirectory()}.
+ */
+public final class ConfigRegistry {
+    private final Binder binder;
+    private final Map<Class<?>, Object> configs;
+    private final Map<String, JsonNode> trees;
+
+    ConfigRegistry(Binder binder, Map<Class<?>, Object> configs, Map<String, JsonNode> trees) {
+        this.binder = binder;
+        this.configs = ImmutableMap.copyOf(configs);
+        this.trees = ImmutableMap.copyOf(trees);
+    }
+
+    /**
+     * Returns the preloaded configuration for the given class. If only the file was preloaded, the configuration is
+     * bound from the file name derived from the class name. Files with the suffixes of format detection are used if
+     * there is no preloaded file with the default suffix.
+     *
+     * @param clazz the class of the configuration
+     * @return the preloaded configuration
+     * @throws IllegalArgumentException if no configuration was preloaded for the given class
+     */
+    public <T> T get(Class<T> clazz) {
+        Object config = configs.get(clazz);
+        if (config != null) {
+            return clazz.cast(config);
+        }
+        String fileName = AppConfigr.toFileName(clazz);
+        if (!trees.containsKey(fileName)) {
+            for (String suffix : ConfigFormats.DETECTED_SUFFIXES) {
+                if (trees.containsKey(AppConfigr.toBaseName(clazz) + suffix)) {
+                    return get(clazz, AppConfigr.toBaseName(clazz) + suffix);
+                }
+            }
+        }
+        return get(clazz, fileName);
+    }
+
+    /**
+     * Binds the preloaded file with the given name to the given class.
+     *
+     * @param clazz    the class used for the mapping
+     * @param fileName the name of the preloaded file
+     * @return the bound configuration
+     * @throws IllegalArgumentException if no file with the given name was preloaded
+     */
+    public <T> T get(Class<T> clazz, String fileName) {
+        JsonNode tree = trees.get(fileName);
+        if (tree == null) {
+            throw new IllegalArgumentException("No configuration was preloaded for [" + clazz.getName() + "] or [" +
+                    fileName + "]");
+        }
+        try {
+            return binder.bind(clazz, fileName, tree);
+        } catch (IOException e) {
+            throw new ConfigurationException("The configuration [" + fileName + "] can not be bound to [" +
+                    clazz.getName() + "]", e);
+        }
+    }
+
+    /**
+     * Returns the classes of all preloaded configurations.
+     */
+    public Set<Class<?>> getClasses() {
+        return configs.keySet();
+    }
+
+    /**
+     * Returns the names of all preloaded files which are not bound yet.
+     */
+    public Set<String> getFileNames() {
+        return trees.keySet();
+    }
+
+    /**
+     * Binds a preloaded file, implemented by the {@link AppConfigr} which created the registry.
+     */
+    interface Binder {
+        <T> T bind(Class<T> clazz, String fileName, JsonNode tree) throws IOException;
+    }
+}
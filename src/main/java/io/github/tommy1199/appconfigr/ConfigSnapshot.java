@@ -0,0 +1,56 @@
+package io.github.tommy1199.appconfigr;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable generation of several configurations which were loaded together. All configurations of a snapshot are
+ * from the same refresh, so readers never see a mix of old and new files. Snapshots are published by a
+ * {@link ConfigSnapshotHandle}.
+ */
+public final class ConfigSnapshot {
+    private final long generation;
+    private final Map<Class<?>, Object> configs;
+
+    ConfigSnapshot(long generation, Map<Class<?>, Object> configs) {
+        this.generation = generation;
+        this.configs = ImmutableMap.copyOf(configs);
+    }
+
+    /**
+     * Returns the generation of this snapshot. The first snapshot has the generation 1, every successful refresh
+     * increments it by one.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the configuration for the given class.
+     *
+     * @param clazz the class of the configuration
+     * @return the configuration of this generation
+     * @throws IllegalArgumentException if the given class is not part of this snapshot
+     */
+    public <T> T get(Class<T> clazz) {
+        Object config = configs.get(clazz);
+        if (config == null) {
+            throw new IllegalArgumentException("The class [" + clazz.getName() + "] is not part of the snapshot");
+        }
+        return clazz.cast(config);
+    }
+
+    /**
+     * Returns the classes of all configurations of this snapshot.
+     */
+    public Set<Class<?>> getClasses() {
+        return configs.keySet();
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigSnapshot[generation=" + generation + ", classes=" + configs.keySet() + "]";
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.tommy1199.appconfigr;
+
+import com.google.common.base.Throwables;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publishes consistent {@link ConfigSnapshot snapshots} of several configurations. Instances are created by
+ * {@link AppConfigr#snapshotOf(java.util.Collection)}.
+ * <p>
+ * A refresh loads all configurations and swaps the whole snapshot at once. Reading the current snapshot is a single
+ * volatile read without locks, a reader should keep the returned snapshot for the duration of a request. If a
+ * refresh fails, the previous snapshot stays in place.
+ */
+public final class ConfigSnapshotHandle {
+    private final Callable<Map<Class<?>, Object>> loader;
+    private final AtomicReference<ConfigSnapshot> current = new AtomicReference<>();
+
+    ConfigSnapshotHandle(Callable<Map<Class<?>, Object>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the most recently published snapshot.
+     *
+     * @return the current snapshot
+     */
+    public ConfigSnapshot get() {
+        return current.get();
+    }
+
+    /**
+     * Loads all configurations again and publishes them as new generation. Concurrent refreshes are executed one
+     * after another.
+     *
+     * @return the published snapshot
+     * @throws ConfigurationException if at least one configuration cannot be loaded, including configurations whose
+     *                                file cannot be found
+     */
+    public synchronized ConfigSnapshot refresh() {
+        Map<Class<?>, Object> configs;
+        try {
+            configs = loader.call();
+        } catch (Exception e) {
+            throw Throwables.propagate(e);
+        }
+        ConfigSnapshot previous = current.get();
+        ConfigSnapshot snapshot = new ConfigSnapshot(previous == null ? 1 : previous.getGeneration() + 1, configs);
+        current.set(snapshot);
+        return snapshot;
+    }
+}
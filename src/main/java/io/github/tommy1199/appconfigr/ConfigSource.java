@@ -0,0 +1,40 @@
+package io.github.tommy1199.appconfigr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Provides the content of configuration files by their names. Implementations for directories, classpath resources,
+ * zip files and in-memory content are created by {@link ConfigSources}.
+ * <p>
+ * Every configuration has a change stamp, which stays equal as long as the content is unchanged. It is used to skip
+ * reading unchanged configurations again, e.g. when caching is enabled. Implementations must be thread-safe.
+ */
+public interface ConfigSource {
+
+    /**
+     * Returns whether a configuration with the given name exists.
+     */
+    boolean exists(String name);
+
+    /**
+     * Opens the content of the configuration with the given name. The caller has to close the returned stream.
+     *
+     * @throws java.nio.file.NoSuchFileException if there is no configuration with the given name
+     */
+    InputStream open(String name) throws IOException;
+
+    /**
+     * Returns the change stamp of the configuration with the given name. Two stamps of the same configuration are
+     * {@link Object#equals(Object) equal} if the content has not changed in between.
+     *
+     * @throws java.nio.file.NoSuchFileException if there is no configuration with the given name
+     */
+    Object changeStamp(String name) throws IOException;
+
+    /**
+     * Returns the names of all configurations of this source.
+     */
+    Set<String> names() throws IOException;
+}
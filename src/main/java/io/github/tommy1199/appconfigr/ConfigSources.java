@@ -0,0 +1,119 @@
+package io.github.tommy1199.appconfigr;
+
+import com.google.common.base.Throwables;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Factory methods for the available {@link ConfigSource} implementations.
+ */
+public final class ConfigSources {
+    private static final String JAR_SCHEME = "jar";
+
+    private ConfigSources() {
+    }
+
+    /**
+     * Creates a source reading the files of the given directory.
+     *
+     * @throws NullPointerException if the given directory is {@code null}
+     */
+    public static ConfigSource directory(Path directory) {
+        return new PathConfigSource(checkNotNull(directory, "The given directory must not be null"));
+    }
+
+    /**
+     * Creates a source reading the resources of the given directory on the classpath of the context class loader.
+     *
+     * @see #classpath(ClassLoader, String)
+     */
+    public static ConfigSource classpath(String directory) {
+        ClassLoader loader = Thread.currentThread()
+                .getContextClassLoader();
+        return classpath(loader == null ? ConfigSources.class.getClassLoader() : loader, directory);
+    }
+
+    /**
+     * Creates a source reading the resources of the given directory on the classpath of the given class loader, e.g.
+     * {@code config} for defaults shipped in the application jar. Resources inside a jar are read directly from the
+     * jar without extracting them.
+     *
+     * @throws IllegalArgumentException if the given directory can not be found on the classpath
+     * @throws NullPointerException     if the given class loader or directory is {@code null}
+     */
+    public static ConfigSource classpath(ClassLoader loader, String directory) {
+        checkNotNull(loader, "The given class loader must not be null");
+        checkNotNull(directory, "The given directory must not be null");
+        URL url = loader.getResource(directory);
+        if (url == null) {
+            throw new IllegalArgumentException("The given directory can not be found on the classpath [" +
+                    directory + "]");
+        }
+        try {
+            URI uri = url.toURI();
+            if (JAR_SCHEME.equals(uri.getScheme())) {
+                openFileSystem(uri);
+            }
+            return new PathConfigSource(Paths.get(uri));
+        } catch (URISyntaxException | IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * Creates a source reading the files of the root directory of the given zip or jar file.
+     *
+     * @see #zip(Path, String)
+     */
+    public static ConfigSource zip(Path zipFile) {
+        return zip(zipFile, "/");
+    }
+
+    /**
+     * Creates a source reading the files of a directory inside the given zip or jar file. The entries are read
+     * directly from the archive without extracting them, the archive stays open as long as the application runs.
+     *
+     * @throws IllegalArgumentException if the given file can not be found
+     * @throws NullPointerException     if the given file or directory is {@code null}
+     */
+    public static ConfigSource zip(Path zipFile, String directory) {
+        checkNotNull(zipFile, "The given zip file must not be null");
+        checkNotNull(directory, "The given directory must not be null");
+        if (!Files.isRegularFile(zipFile)) {
+            throw new IllegalArgumentException("The given file can not be found [" + zipFile + "]");
+        }
+        try {
+            FileSystem fileSystem = FileSystems.newFileSystem(zipFile, (ClassLoader) null);
+            return new PathConfigSource(fileSystem.getPath(directory));
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * Creates an empty source holding its content in memory.
+     */
+    public static InMemoryConfigSource inMemory() {
+        return new InMemoryConfigSource();
+    }
+
+    private static void openFileSystem(URI uri) throws IOException {
+        try {
+            FileSystems.newFileSystem(uri, Collections.<String, Object>emptyMap());
+        } catch (FileSystemAlreadyExistsException e) {
+            // opened by an earlier source of the same jar
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.tommy1199.appconfigr;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Content of a configuration file compiled into literal segments and variable slots. Rendering only resolves the
+ * slots and concatenates them with the segments, so the content is neither read nor scanned for variables again.
+ */
+final class ConfigTemplate {
+    private final String[] literals;
+    private final String[] names;
+    private final String[] defaults;
+    private final Set<String> variableNames;
+    private final int literalLength;
+
+    private ConfigTemplate(List<String> literals, List<String> names, List<String> defaults) {
+        this.literals = literals.toArray(new String[literals.size()]);
+        this.names = names.toArray(new String[names.size()]);
+        this.defaults = defaults.toArray(new String[defaults.size()]);
+        this.variableNames = new LinkedHashSet<>(names);
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    static ConfigTemplate compile(String content) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<String> defaults = new ArrayList<>();
+        int copied = 0;
+        int start = Variables.startOf(content, 0);
+        while (start >= 0) {
+            int end = Variables.endOf(content, start);
+            if (end < 0) {
+                start = Variables.startOf(content, start + 1);
+                continue;
+            }
+            literals.add(content.substring(copied, start));
+            names.add(Variables.nameOf(content, start));
+            defaults.add(Variables.defaultOf(content, Variables.nameEndOf(content, start), end));
+            copied = end + 1;
+            start = Variables.startOf(content, copied);
+        }
+        literals.add(content.substring(copied));
+        return new ConfigTemplate(literals, names, defaults);
+    }
+
+    /**
+     * Returns the distinct names of all variables of this template.
+     */
+    Set<String> getVariableNames() {
+        return variableNames;
+    }
+
+    /**
+     * Resolves the values of all slots with a single batch call of the given resolver. Slots whose variable cannot
+     * be resolved get their default value.
+     *
+     * @throws ConfigurationException if a variable without default value cannot be resolved
+     */
+    String[] resolve(VariableResolver resolver) {
+        Map<String, VariableResolver.Result> results = resolver.getResults(variableNames);
+        String[] slots = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            VariableResolver.Result result = results.get(names[i]);
+            if (VariableResolver.isLiteral(result)) {
+                slots[i] = new Variables.Expression(names[i], defaults[i]).toString();
+            } else {
+                slots[i] = defaults[i] == null || VariableResolver.isResolved(result) ?
+                        VariableResolver.valueOf(result) : defaults[i];
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Renders the content with the given slot values, as returned by {@link #resolve(VariableResolver)}.
+     */
+    String render(String[] slots) {
+        int length = literalLength;
+        for (String slot : slots) {
+            length += slot.length();
+        }
+        StringBuilder out = new StringBuilder(length);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i])
+                    .append(slots[i]);
+        }
+        return out.append(literals[slots.length])
+                .toString();
+    }
+}
@@ -0,0 +1,324 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Immutable view of a configuration file for lookups by dotted paths like {@code limits.maxConnections}, without
+ * binding the file to a class. Elements of arrays are addressed by their index, e.g. {@code servers.0.host}. Created
+ * by {@link AppConfigr#getView(String)}.
+ * <p>
+ * All values are flattened into a single open addressing index when the view is created. Numbers and booleans are
+ * stored unboxed, also if they are given as strings like {@code '8080'}, which are parsed once when the view is
+ * created. So none of the lookups parses or allocates. A view should be created once and kept, e.g. in a field.
+ * <p>
+ * A key containing a dot like {@code "limits.max"} has the same path as the nested key {@code max} of
+ * {@code limits}. A file using both cannot be viewed.
+ */
+public final class ConfigView {
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte DOUBLE = 2;
+    private static final byte BOOLEAN = 3;
+    private static final byte STRING = 4;
+
+    private final String[] keys;
+    private final byte[] types;
+    private final long[] values;
+    private final String[] texts;
+    private final int mask;
+    private final int size;
+
+    private ConfigView(int size) {
+        int capacity = Integer.highestOneBit(Math.max(size * 2 - 1, 1)) << 1;
+        this.keys = new String[capacity];
+        this.types = new byte[capacity];
+        this.values = new long[capacity];
+        this.texts = new String[capacity];
+        this.mask = capacity - 1;
+        this.size = size;
+    }
+
+    /**
+     * Creates a view of the given tree.
+     *
+     * @throws ConfigurationException if two values of the tree have the same path
+     */
+    static ConfigView of(JsonNode tree) {
+        Map<String, JsonNode> leaves = new LinkedHashMap<>();
+        flatten(tree, null, leaves);
+        ConfigView view = new ConfigView(leaves.size());
+        for (Map.Entry<String, JsonNode> leaf : leaves.entrySet()) {
+            view.put(leaf.getKey(), leaf.getValue());
+        }
+        return view;
+    }
+
+    private static void flatten(JsonNode node, String path, Map<String, JsonNode> leaves) {
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                flatten(field.getValue(), path == null ? field.getKey() : path + "." + field.getKey(), leaves);
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                flatten(node.get(i), path == null ? String.valueOf(i) : path + "." + i, leaves);
+            }
+        } else if (path != null && leaves.put(path, node) != null) {
+            throw new ConfigurationException("The path [" + path + "] is given twice, e.g. by a key containing a " +
+                    "dot and by nested keys.");
+        }
+    }
+
+    private void put(String key, JsonNode node) {
+        int slot = spread(key.hashCode()) & mask;
+        while (keys[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (node.isNull()) {
+            types[slot] = NULL;
+            return;
+        }
+        texts[slot] = node.asText();
+        if (node.isIntegralNumber() && node.canConvertToLong()) {
+            types[slot] = LONG;
+            values[slot] = node.longValue();
+        } else if (node.isNumber()) {
+            types[slot] = DOUBLE;
+            values[slot] = Double.doubleToRawLongBits(node.doubleValue());
+        } else if (node.isBoolean()) {
+            types[slot] = BOOLEAN;
+            values[slot] = node.booleanValue() ? 1 : 0;
+        } else {
+            putText(slot, texts[slot]);
+        }
+    }
+
+    /**
+     * Stores a string value as number or boolean if it can be read as one, so lookups of these types do not parse it.
+     * Surrounding whitespace is ignored for numbers. The text itself is kept for {@link #getString(String)}.
+     */
+    private void putText(int slot, String text) {
+        types[slot] = STRING;
+        String trimmed = text.trim();
+        if ("true".equals(text) || "false".equals(text)) {
+            types[slot] = BOOLEAN;
+            values[slot] = "true".equals(text) ? 1 : 0;
+        } else if (mayBeNumber(trimmed)) {
+            try {
+                values[slot] = Long.parseLong(trimmed);
+                types[slot] = LONG;
+            } catch (NumberFormatException e) {
+                try {
+                    values[slot] = Double.doubleToRawLongBits(Double.parseDouble(trimmed));
+                    types[slot] = DOUBLE;
+                } catch (NumberFormatException notANumber) {
+                    // stays a string
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the given trimmed text starts and ends like a decimal number, which skips the parsing of most
+     * other strings. Texts like {@code NaN}, {@code Infinity} or {@code 5d}, which {@link Double#parseDouble(String)}
+     * would accept as well, stay strings.
+     */
+    private static boolean mayBeNumber(String trimmed) {
+        if (trimmed.isEmpty()) {
+            return false;
+        }
+        char first = trimmed.charAt(0);
+        char last = trimmed.charAt(trimmed.length() - 1);
+        return (isDigit(first) || first == '-' || first == '+' || first == '.') && (isDigit(last) || last == '.');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Returns whether there is a value at the given path.
+     */
+    public boolean contains(String path) {
+        return slotOf(path) >= 0;
+    }
+
+    /**
+     * Returns the value at the given path as int. Strings are read as decimal number.
+     *
+     * @throws IllegalArgumentException if there is no value at the given path or it is no int
+     */
+    public int getInt(String path) {
+        int slot = existingSlotOf(path);
+        long value = longValue(slot, path);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw mismatch(path, "int");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Returns the value at the given path as int or the given default, if there is no value at the path.
+     *
+     * @throws IllegalArgumentException if the value at the given path is no int
+     */
+    public int getInt(String path, int defaultValue) {
+        return contains(path) ? getInt(path) : defaultValue;
+    }
+
+    /**
+     * Returns the value at the given path as long. Strings are read as decimal number.
+     *
+     * @throws IllegalArgumentException if there is no value at the given path or it is no long
+     */
+    public long getLong(String path) {
+        return longValue(existingSlotOf(path), path);
+    }
+
+    /**
+     * Returns the value at the given path as long or the given default, if there is no value at the path.
+     *
+     * @throws IllegalArgumentException if the value at the given path is no long
+     */
+    public long getLong(String path, long defaultValue) {
+        return contains(path) ? getLong(path) : defaultValue;
+    }
+
+    /**
+     * Returns the value at the given path as double. Strings are read as decimal number.
+     *
+     * @throws IllegalArgumentException if there is no value at the given path or it is no number
+     */
+    public double getDouble(String path) {
+        int slot = existingSlotOf(path);
+        switch (types[slot]) {
+            case LONG:
+                return values[slot];
+            case DOUBLE:
+                return Double.longBitsToDouble(values[slot]);
+            default:
+                throw mismatch(path, "number");
+        }
+    }
+
+    /**
+     * Returns the value at the given path as double or the given default, if there is no value at the path.
+     *
+     * @throws IllegalArgumentException if the value at the given path is no number
+     */
+    public double getDouble(String path, double defaultValue) {
+        return contains(path) ? getDouble(path) : defaultValue;
+    }
+
+    /**
+     * Returns the value at the given path as boolean. The strings {@code true} and {@code false} are accepted as
+     * well.
+     *
+     * @throws IllegalArgumentException if there is no value at the given path or it is no boolean
+     */
+    public boolean getBoolean(String path) {
+        int slot = existingSlotOf(path);
+        if (types[slot] == BOOLEAN) {
+            return values[slot] != 0;
+        }
+        throw mismatch(path, "boolean");
+    }
+
+    /**
+     * Returns the value at the given path as boolean or the given default, if there is no value at the path.
+     *
+     * @throws IllegalArgumentException if the value at the given path is no boolean
+     */
+    public boolean getBoolean(String path, boolean defaultValue) {
+        return contains(path) ? getBoolean(path) : defaultValue;
+    }
+
+    /**
+     * Returns the value at the given path as string. Numbers and booleans are returned in their textual form, an
+     * explicit null value as {@code null}.
+     *
+     * @throws IllegalArgumentException if there is no value at the given path
+     */
+    public String getString(String path) {
+        return texts[existingSlotOf(path)];
+    }
+
+    /**
+     * Returns the value at the given path as string or the given default, if there is no value at the path.
+     */
+    public String getString(String path, String defaultValue) {
+        int slot = slotOf(path);
+        return slot < 0 ? defaultValue : texts[slot];
+    }
+
+    /**
+     * Returns the number of values of this view.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the paths of all values of this view.
+     */
+    public Set<String> getPaths() {
+        Set<String> paths = new LinkedHashSet<>();
+        for (String key : keys) {
+            if (key != null) {
+                paths.add(key);
+            }
+        }
+        return paths;
+    }
+
+    private long longValue(int slot, String path) {
+        switch (types[slot]) {
+            case LONG:
+                return values[slot];
+            default:
+                throw mismatch(path, "integral number");
+        }
+    }
+
+    private int slotOf(String path) {
+        checkNotNull(path, "The given path must not be null");
+        int slot = spread(path.hashCode()) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key.equals(path)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Mixes the high bits of the hash code into the low bits, which alone select the slot, like {@code HashMap} does.
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private int existingSlotOf(String path) {
+        int slot = slotOf(path);
+        if (slot < 0) {
+            throw new IllegalArgumentException("The given path can not be found [" + path + "]");
+        }
+        return slot;
+    }
+
+    private IllegalArgumentException mismatch(String path, String type) {
+        return new IllegalArgumentException("The value at [" + path + "] is no " + type);
+    }
+}
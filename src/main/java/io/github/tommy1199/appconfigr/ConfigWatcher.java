@@ -0,0 +1,202 @@
+package io.github.tommy1199.appconfigr;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches the directories of all registered {@link ConfigHandle}s with a single {@link WatchService} and reloads the
+ * handles when their files change. Changes are debounced per file, so a burst of writes to a file results in a single
+ * reload once this file was quiet for the debounce interval, while changes of other files are reloaded on their own.
+ * The watcher closes itself when the last handle is unregistered.
+ */
+class ConfigWatcher implements Runnable {
+    private static final Logger LOGGER = Logger.getLogger(ConfigWatcher.class.getName());
+    private final WatchService watchService;
+    private final long debounceNanos;
+    private final Map<Path, WatchKey> keys = new HashMap<>();
+    private final Map<Path, List<ConfigHandle<?>>> handles = new HashMap<>();
+    private boolean closed;
+
+    private ConfigWatcher(WatchService watchService, long debounceNanos) {
+        this.watchService = watchService;
+        this.debounceNanos = debounceNanos;
+    }
+
+    static ConfigWatcher start(Path baseDirectory, long debounceNanos) throws IOException {
+        ConfigWatcher watcher = new ConfigWatcher(baseDirectory.getFileSystem()
+                .newWatchService(), debounceNanos);
+        Thread thread = new Thread(watcher, "appconfigr-watcher-" + baseDirectory);
+        thread.setDaemon(true);
+        thread.start();
+        return watcher;
+    }
+
+    /**
+     * Registers the given handle. Returns {@code false} if this watcher was already closed and cannot be used anymore.
+     * If the directory of the handle cannot be watched and no other handle is registered, the watcher is closed, so
+     * its thread does not outlive the failed registration.
+     */
+    synchronized boolean register(ConfigHandle<?> handle) throws IOException {
+        if (closed) {
+            return false;
+        }
+        Path directory = handle.getPath()
+                .getParent();
+        if (!keys.containsKey(directory)) {
+            try {
+                keys.put(directory, directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY));
+            } catch (IOException | RuntimeException e) {
+                if (handles.isEmpty()) {
+                    close();
+                }
+                throw e;
+            }
+        }
+        List<ConfigHandle<?>> registered = handles.get(handle.getPath());
+        if (registered == null) {
+            registered = new CopyOnWriteArrayList<>();
+            handles.put(handle.getPath(), registered);
+        }
+        registered.add(handle);
+        handle.watchedBy(this);
+        return true;
+    }
+
+    synchronized void unregister(ConfigHandle<?> handle) {
+        List<ConfigHandle<?>> registered = handles.get(handle.getPath());
+        if (registered == null || !registered.remove(handle)) {
+            return;
+        }
+        if (registered.isEmpty()) {
+            handles.remove(handle.getPath());
+            Path directory = handle.getPath()
+                    .getParent();
+            if (watchedFiles(directory).isEmpty()) {
+                keys.remove(directory)
+                        .cancel();
+            }
+        }
+        if (handles.isEmpty()) {
+            close();
+        }
+    }
+
+    @Override
+    public void run() {
+        Map<Path, Long> pending = new LinkedHashMap<>();
+        try {
+            while (true) {
+                WatchKey key = pending.isEmpty() ? watchService.take() : watchService.poll(nanosUntilQuiet(pending),
+                        TimeUnit.NANOSECONDS);
+                if (key != null) {
+                    collectChanges(key, pending);
+                }
+                reloadQuiet(pending);
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // the last handle was closed
+        }
+    }
+
+    /**
+     * Records the time of the last change of each changed file. A file which changes again is debounced from this
+     * change on, independent of all other files.
+     */
+    private void collectChanges(WatchKey key, Map<Path, Long> pending) {
+        Path directory = (Path) key.watchable();
+        long now = System.nanoTime();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                for (Path path : watchedFiles(directory)) {
+                    pending.put(path, now);
+                }
+            } else {
+                pending.put(directory.resolve((Path) event.context()), now);
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * Returns the time until the first pending file has been quiet for the debounce interval.
+     */
+    private long nanosUntilQuiet(Map<Path, Long> pending) {
+        long now = System.nanoTime();
+        long wait = debounceNanos;
+        for (long lastChange : pending.values()) {
+            wait = Math.min(wait, lastChange + debounceNanos - now);
+        }
+        return Math.max(wait, 0);
+    }
+
+    /**
+     * Reloads the handles of all pending files which have been quiet for the debounce interval, so a file which is
+     * written constantly does not delay the reload of other files.
+     */
+    private void reloadQuiet(Map<Path, Long> pending) {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path, Long>> changes = pending.entrySet()
+                .iterator();
+        while (changes.hasNext()) {
+            Map.Entry<Path, Long> change = changes.next();
+            if (now - change.getValue() >= debounceNanos) {
+                changes.remove();
+                reload(change.getKey());
+            }
+        }
+    }
+
+    private void reload(Path path) {
+        for (ConfigHandle<?> handle : handlesFor(path)) {
+            try {
+                handle.reload();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "The reload of [" + path + "] failed", e);
+            }
+        }
+    }
+
+    private synchronized List<ConfigHandle<?>> handlesFor(Path path) {
+        List<ConfigHandle<?>> registered = handles.get(path);
+        return registered == null ? Collections.<ConfigHandle<?>>emptyList() : registered;
+    }
+
+    private synchronized Set<Path> watchedFiles(Path directory) {
+        Set<Path> files = new LinkedHashSet<>();
+        for (Path path : handles.keySet()) {
+            if (directory.equals(path.getParent())) {
+                files.add(path);
+            }
+        }
+        return files;
+    }
+
+    private void close() {
+        closed = true;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // nothing left to clean up
+        }
+    }
+}
@@ -4,4 +4,8 @@ public class ConfigurationException extends RuntimeException {
     ConfigurationException(String msg) {
         super(msg);
     }
+
+    ConfigurationException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
 }
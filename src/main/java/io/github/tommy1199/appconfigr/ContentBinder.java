@@ -0,0 +1,17 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * Binds the resolved content of a configuration file. Strategies which parse the content pass a parser, strategies
+ * which keep the content as tree pass the tree.
+ */
+interface ContentBinder<T> {
+
+    T bind(JsonParser parser) throws IOException;
+
+    T bind(JsonNode tree) throws IOException;
+}
@@ -0,0 +1,36 @@
+package io.github.tommy1199.appconfigr;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the executors used if no executor is set on the {@link AppConfigr.Builder}.
+ */
+class DefaultExecutors {
+    private static final ExecutorService ASYNC = createAsync();
+
+    private DefaultExecutors() {
+    }
+
+    /**
+     * Returns the executor for asynchronous loads. It starts a virtual thread per task if the Java runtime supports
+     * virtual threads and uses a pool of daemon threads otherwise.
+     */
+    static ExecutorService async() {
+        return ASYNC;
+    }
+
+    private static ExecutorService createAsync() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(new ThreadFactoryBuilder().setDaemon(true)
+                    .setNameFormat("appconfigr-async-%d")
+                    .build());
+        }
+    }
+}
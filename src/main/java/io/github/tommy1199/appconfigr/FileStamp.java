@@ -0,0 +1,44 @@
+package io.github.tommy1199.appconfigr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+/**
+ * Snapshot of the modification time and size of a file. Used to detect whether a file has changed since it was read.
+ */
+final class FileStamp {
+    private final long lastModified;
+    private final long size;
+
+    private FileStamp(long lastModified, long size) {
+        this.lastModified = lastModified;
+        this.size = size;
+    }
+
+    static FileStamp of(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return new FileStamp(attributes.lastModifiedTime()
+                .toMillis(), attributes.size());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FileStamp that = (FileStamp) o;
+        return lastModified == that.lastModified && size == that.size;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lastModified, size);
+    }
+
+    @Override
+    public String toString() {
+        return "FileStamp[lastModified=" + lastModified + ", size=" + size + "]";
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.tommy1199.appconfigr;
+
+import java.util.Optional;
+
+/**
+ * Looks up the {@link ConfigReader} generated for a configuration class. The reader of a class {@code a.b.Outer$Inner}
+ * is named {@code a.b.Outer_Inner_ConfigReader}. Each class is looked up only once.
+ */
+class GeneratedReaders {
+    static final String SUFFIX = "_ConfigReader";
+
+    private static final ClassValue<Optional<ConfigReader<?>>> READERS = new ClassValue<Optional<ConfigReader<?>>>() {
+        @Override
+        protected Optional<ConfigReader<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(lookUp(type));
+        }
+    };
+
+    private GeneratedReaders() {
+    }
+
+    /**
+     * Returns the generated reader for the given class or {@code null} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ConfigReader<T> of(Class<T> type) {
+        return (ConfigReader<T>) READERS.get(type)
+                .orElse(null);
+    }
+
+    static String readerNameOf(String binaryName) {
+        int dot = binaryName.lastIndexOf('.');
+        return binaryName.substring(0, dot + 1) + binaryName.substring(dot + 1)
+                .replace('$', '_') + SUFFIX;
+    }
+
+    private static ConfigReader<?> lookUp(Class<?> type) {
+        if (type.isInterface() || type.isPrimitive() || type.isArray() || type.getClassLoader() == null) {
+            return null;
+        }
+        try {
+            Class<?> reader = Class.forName(readerNameOf(type.getName()), true, type.getClassLoader());
+            if (!ConfigReader.class.isAssignableFrom(reader)) {
+                return null;
+            }
+            return (ConfigReader<?>) reader.getDeclaredConstructor()
+                    .newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new ConfigurationException("The generated reader for [" + type.getName() + "] can not be created",
+                    e);
+        }
+    }
+}
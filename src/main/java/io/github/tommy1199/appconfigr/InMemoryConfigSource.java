@@ -0,0 +1,103 @@
+package io.github.tommy1199.appconfigr;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableSet;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Source holding the content of its configurations in memory, mainly intended for tests. Created by
+ * {@link ConfigSources#inMemory()}. Every update of a configuration changes its change stamp.
+ */
+public final class InMemoryConfigSource implements ConfigSource {
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    InMemoryConfigSource() {
+    }
+
+    /**
+     * Sets the content of the configuration with the given name.
+     *
+     * @return this source
+     * @throws NullPointerException if the given name or content is {@code null}
+     */
+    public InMemoryConfigSource put(String name, byte[] content) {
+        checkNotNull(name, "The given name must not be null");
+        checkNotNull(content, "The given content must not be null");
+        entries.put(name, new Entry(content.clone(), versions.incrementAndGet()));
+        return this;
+    }
+
+    /**
+     * Sets the content of the configuration with the given name as UTF-8 encoded text.
+     *
+     * @return this source
+     * @throws NullPointerException if the given name or content is {@code null}
+     */
+    public InMemoryConfigSource put(String name, String content) {
+        checkNotNull(content, "The given content must not be null");
+        return put(name, content.getBytes(Charsets.UTF_8));
+    }
+
+    /**
+     * Removes the configuration with the given name.
+     *
+     * @return this source
+     */
+    public InMemoryConfigSource remove(String name) {
+        entries.remove(name);
+        return this;
+    }
+
+    @Override
+    public boolean exists(String name) {
+        return entries.containsKey(name);
+    }
+
+    @Override
+    public InputStream open(String name) throws NoSuchFileException {
+        return new ByteArrayInputStream(entry(name).content);
+    }
+
+    @Override
+    public Object changeStamp(String name) throws NoSuchFileException {
+        return entry(name).version;
+    }
+
+    @Override
+    public Set<String> names() {
+        return ImmutableSet.copyOf(entries.keySet());
+    }
+
+    private Entry entry(String name) throws NoSuchFileException {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new NoSuchFileException(name);
+        }
+        return entry;
+    }
+
+    @Override
+    public String toString() {
+        return "in-memory source " + entries.keySet();
+    }
+
+    private static class Entry {
+        private final byte[] content;
+        private final long version;
+
+        private Entry(byte[] content, long version) {
+            this.content = content;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Utility to navigate a streaming parser to the value addressed by a {@link JsonPointer}. All values which are not
+ * on the way to the target are skipped without being materialized.
+ */
+class JsonPointers {
+
+    private JsonPointers() {
+    }
+
+    /**
+     * Moves the given parser to the first token of the value addressed by the given pointer.
+     *
+     * @return {@code true} if the value was found, {@code false} otherwise
+     */
+    static boolean moveTo(JsonParser parser, JsonPointer pointer) throws IOException {
+        if (!parser.hasCurrentToken() && parser.nextToken() == null) {
+            return false;
+        }
+        JsonPointer remaining = pointer;
+        while (!remaining.matches()) {
+            JsonToken token = parser.getCurrentToken();
+            boolean found;
+            if (token == JsonToken.START_OBJECT) {
+                found = moveToField(parser, remaining.getMatchingProperty());
+            } else if (token == JsonToken.START_ARRAY) {
+                found = moveToElement(parser, remaining.getMatchingIndex());
+            } else {
+                found = false;
+            }
+            if (!found) {
+                return false;
+            }
+            remaining = remaining.tail();
+        }
+        return true;
+    }
+
+    private static boolean moveToField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            if (fieldName.equals(name)) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static boolean moveToElement(JsonParser parser, int index) throws IOException {
+        if (index < 0) {
+            return false;
+        }
+        JsonToken token;
+        for (int i = 0; (token = parser.nextToken()) != JsonToken.END_ARRAY && token != null; i++) {
+            if (i == index) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+}
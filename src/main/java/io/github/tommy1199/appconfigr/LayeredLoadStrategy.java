@@ -0,0 +1,55 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Loads a file merged with all its overlays. The parsed layers are shared by {@link ConfigLayers}, so a load only
+ * merges and resolves them.
+ */
+class LayeredLoadStrategy extends LoadStrategy {
+    private final ConfigLayers layers;
+
+    LayeredLoadStrategy(ConfigSource source, ConfigFormats formats, ConfigLayers layers) {
+        super(source, formats);
+        this.layers = layers;
+    }
+
+    @Override
+    Set<String> variableNames(ConfigFile file) throws IOException {
+        return layers.variableNames(source, file.getName(), mapperOf(file));
+    }
+
+    @Override
+    <T> T load(ConfigFile file, Class<?> type, VariableResolver resolver, ContentBinder<T> binder,
+               LoadRecorder recorder) throws IOException {
+        long start = System.nanoTime();
+        JsonNode merged = layers.merged(source, file.getName(), mapperOf(file), recorder);
+        if (recorder != null) {
+            recorder.read(0, System.nanoTime() - start);
+            start = System.nanoTime();
+        }
+        JsonNode tree = ConfigLayers.resolve(merged, resolver, recorder);
+        if (recorder != null) {
+            recorder.resolved(System.nanoTime() - start);
+            start = System.nanoTime();
+        }
+        try {
+            return binder.bind(tree);
+        } finally {
+            if (recorder != null) {
+                recorder.bound(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Returns the change stamps of the given file and all its overlays.
+     */
+    @Override
+    Object changeStamp(String fileName) throws IOException {
+        return layers.changeStamps(source, fileName);
+    }
+}
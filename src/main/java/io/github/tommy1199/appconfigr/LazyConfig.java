@@ -0,0 +1,184 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.google.common.base.Joiner;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Implementation of a configuration interface which keeps the resolved tree of the file and binds the value of each
+ * getter only on its first call. The bound value is kept, so later calls return the same value. Getters returning an
+ * interface are implemented the same way, so nested sections are bound only as far as they are used.
+ * <p>
+ * A getter named {@code getName()}, {@code isName()} or {@code name()} returns the field {@code name}, unless it is
+ * annotated with {@link JsonProperty}. Missing fields are returned as {@code null} or the default value of a
+ * primitive type. Default methods of the interface are invoked as they are, so they can be used as helpers on top
+ * of the getters. {@code toString()} only lists the field names, as the values may hold resolved secrets.
+ */
+class LazyConfig implements InvocationHandler {
+    private static final Object NULL = new Object();
+    private static final ClassValue<Map<Method, MethodHandle>> DEFAULT_METHODS =
+            new ClassValue<Map<Method, MethodHandle>>() {
+                @Override
+                protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+                    return defaultMethodsOf(type);
+                }
+            };
+
+    private final Class<?> type;
+    private final JsonNode tree;
+    private final Binder binder;
+    private final ConcurrentMap<Method, Object> values = new ConcurrentHashMap<>();
+
+    private LazyConfig(Class<?> type, JsonNode tree, Binder binder) {
+        this.type = type;
+        this.tree = tree;
+        this.binder = binder;
+    }
+
+    /**
+     * Creates an implementation of the given interface backed by the given tree.
+     *
+     * @throws ConfigurationException if a default method of the interface cannot be made invokable
+     */
+    static <T> T of(Class<T> type, JsonNode tree, Binder binder) {
+        DEFAULT_METHODS.get(type);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new LazyConfig(type, tree, binder)));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeObjectMethod(proxy, method, args);
+        }
+        if (method.isDefault()) {
+            return DEFAULT_METHODS.get(type)
+                    .get(method)
+                    .bindTo(proxy)
+                    .invokeWithArguments(args == null ? new Object[0] : args);
+        }
+        if (method.getParameterCount() > 0) {
+            throw new UnsupportedOperationException("Only getters without parameters are supported by configuration " +
+                    "interfaces [" + method + "]");
+        }
+        Object value = values.get(method);
+        if (value == null) {
+            Object bound = bind(method);
+            value = values.putIfAbsent(method, bound == null ? NULL : bound);
+            if (value == null) {
+                return bound;
+            }
+        }
+        return value == NULL ? null : value;
+    }
+
+    private Object bind(Method method) {
+        String name = propertyNameOf(method);
+        JsonNode node = tree.path(name);
+        if (node instanceof MissingNode) {
+            node = NullNode.getInstance();
+        }
+        Class<?> returnType = method.getReturnType();
+        if (returnType.isInterface() && node.isObject() && !returnType.getName().startsWith("java.")) {
+            return of(returnType, node, binder);
+        }
+        try {
+            return binder.bind(method.getGenericReturnType(), node);
+        } catch (IOException e) {
+            throw new ConfigurationException("The value [" + name + "] can not be bound to [" +
+                    method.getGenericReturnType() + "] of [" + type.getName() + "]", e);
+        }
+    }
+
+    private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return type.getSimpleName() + "{" + Joiner.on(", ")
+                        .join(tree.fieldNames()) + "}";
+        }
+    }
+
+    /**
+     * Returns a handle for each default method of the given interface and its super interfaces, which invokes the
+     * default implementation on a given proxy.
+     */
+    private static Map<Method, MethodHandle> defaultMethodsOf(Class<?> type) {
+        Map<Method, MethodHandle> handles = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            if (method.isDefault()) {
+                try {
+                    handles.put(method, lookupFor(method.getDeclaringClass()).unreflectSpecial(method,
+                            method.getDeclaringClass()));
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    throw new ConfigurationException("The default method [" + method + "] of the configuration " +
+                            "interface [" + type.getName() + "] can not be invoked", e);
+                }
+            }
+        }
+        return handles;
+    }
+
+    /**
+     * Returns a lookup with private access to the given interface. Java 9 and later provide
+     * {@code MethodHandles.privateLookupIn}, Java 8 only allows it through the private constructor of the lookup.
+     */
+    private static MethodHandles.Lookup lookupFor(Class<?> type) throws ReflectiveOperationException {
+        try {
+            Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class,
+                    MethodHandles.Lookup.class);
+            return (MethodHandles.Lookup) privateLookupIn.invoke(null, type, MethodHandles.lookup());
+        } catch (NoSuchMethodException e) {
+            Constructor<MethodHandles.Lookup> constructor = MethodHandles.Lookup.class.getDeclaredConstructor(
+                    Class.class, int.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance(type, MethodHandles.Lookup.PRIVATE);
+        }
+    }
+
+    /**
+     * Binds the value of a getter, implemented by the {@link AppConfigr} which created the configuration.
+     */
+    interface Binder {
+        Object bind(Type type, JsonNode node) throws IOException;
+    }
+
+    static String propertyNameOf(Method method) {
+        JsonProperty property = method.getAnnotation(JsonProperty.class);
+        if (property != null && !property.value()
+                .isEmpty()) {
+            return property.value();
+        }
+        String name = method.getName();
+        if (name.startsWith("get") && name.length() > 3) {
+            return decapitalize(name.substring(3));
+        }
+        if (name.startsWith("is") && name.length() > 2 && (method.getReturnType() == boolean.class ||
+                method.getReturnType() == Boolean.class)) {
+            return decapitalize(name.substring(2));
+        }
+        return name;
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.tommy1199.appconfigr;
+
+import com.google.common.base.Equivalence;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the statistics of a single load. Only created if a {@link ConfigMetricsListener} is registered, so loads
+ * without a listener do not pay for the measurements.
+ */
+class LoadRecorder {
+    private final Path path;
+    private final Map<Equivalence.Wrapper<VariableResolver>, int[]> resolverCounts = new LinkedHashMap<>();
+    private long bytesRead;
+    private long readNanos;
+    private long resolveNanos;
+    private long bindNanos;
+    private int variableCount;
+
+    LoadRecorder(Path path) {
+        this.path = path;
+    }
+
+    void read(long bytes, long nanos) {
+        bytesRead += bytes;
+        readNanos += nanos;
+    }
+
+    void resolved(long nanos) {
+        resolveNanos += nanos;
+    }
+
+    void bound(long nanos) {
+        bindNanos += nanos;
+    }
+
+    long resolveNanos() {
+        return resolveNanos;
+    }
+
+    void variableFound() {
+        variableCount++;
+    }
+
+    void variablesFound(int count) {
+        variableCount += count;
+    }
+
+    /**
+     * Counts a hit or miss of the given resolver. Resolvers are told apart by identity, so distinct resolvers with the
+     * same description are reported separately.
+     */
+    void resolverUsed(VariableResolver resolver, boolean hit) {
+        Equivalence.Wrapper<VariableResolver> key = Equivalence.identity()
+                .wrap(resolver);
+        int[] counts = resolverCounts.get(key);
+        if (counts == null) {
+            counts = new int[2];
+            resolverCounts.put(key, counts);
+        }
+        counts[hit ? 0 : 1]++;
+    }
+
+    ConfigLoadEvent toEvent(Exception failure) {
+        List<ConfigLoadEvent.ResolverStats> stats = new ArrayList<>();
+        for (Map.Entry<Equivalence.Wrapper<VariableResolver>, int[]> entry : resolverCounts.entrySet()) {
+            stats.add(new ConfigLoadEvent.ResolverStats(String.valueOf(entry.getKey()
+                    .get()), entry.getValue()[0], entry.getValue()[1]));
+        }
+        return new ConfigLoadEvent(path, bytesRead, readNanos, resolveNanos, bindNanos, variableCount, stats, failure);
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Reads, resolves and binds configuration files in one of the modes set on the {@link AppConfigr.Builder}. Each
+ * instance loads all its files through a single strategy, so every load of a mode is read, resolved and measured the
+ * same way.
+ */
+abstract class LoadStrategy {
+    final ConfigSource source;
+    final ConfigFormats formats;
+
+    LoadStrategy(ConfigSource source, ConfigFormats formats) {
+        this.source = source;
+        this.formats = formats;
+    }
+
+    /**
+     * Returns the names of all variables which are resolved when the given file is loaded.
+     */
+    abstract Set<String> variableNames(ConfigFile file) throws IOException;
+
+    /**
+     * Reads the given file, resolves its variables with the given resolver and binds the result with the given binder.
+     * Each phase is measured by the given recorder, if it is not {@code null}.
+     *
+     * @param type the type the file is bound to, which identifies the result for strategies which keep it
+     */
+    abstract <T> T load(ConfigFile file, Class<?> type, VariableResolver resolver, ContentBinder<T> binder,
+                        LoadRecorder recorder) throws IOException;
+
+    /**
+     * Returns the change stamp of everything the given file is loaded from.
+     */
+    Object changeStamp(String fileName) throws IOException {
+        return source.changeStamp(fileName);
+    }
+
+    ObjectMapper mapperOf(ConfigFile file) {
+        return formats.of(file.getName())
+                .getMapper();
+    }
+
+    /**
+     * Reads the whole value of the given parser as tree.
+     *
+     * @throws ConfigurationException if the file is empty
+     */
+    static JsonNode readTree(ObjectMapper mapper, JsonParser parser, ConfigFile file) throws IOException {
+        JsonNode tree = mapper.readTree(parser);
+        if (tree == null) {
+            throw new ConfigurationException("The given file is empty [" + file.getPath() + "]");
+        }
+        return tree;
+    }
+}
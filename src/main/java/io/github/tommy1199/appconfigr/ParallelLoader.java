@@ -0,0 +1,142 @@
+package io.github.tommy1199.appconfigr;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Runs a set of loading tasks in parallel and collects their results. In contrast to failing fast, all tasks are
+ * completed and every failure is reported in a single {@link ConfigurationException}.
+ */
+class ParallelLoader {
+
+    private ParallelLoader() {
+    }
+
+    /**
+     * Runs all tasks on the given executor or on the {@link ForkJoinPool#commonPool() common pool} if the executor is
+     * {@code null}, so no threads are started for each load.
+     * <p>
+     * Tasks on the common pool read files, so they run as {@link ForkJoinPool.ManagedBlocker managed blockers}, which
+     * lets the pool start spare threads instead of starving other tasks. Waiting for the results is managed the same
+     * way, so a caller which runs on a pool thread itself does not wait for tasks which no thread is left to run.
+     *
+     * @return the results of all tasks with the same keys as the given tasks
+     * @throws ConfigurationException if at least one task failed or returned {@code null}
+     */
+    static <K, V> Map<K, V> loadAll(Map<K, ? extends Callable<V>> tasks, Executor executor) {
+        Map<K, FutureTask<V>> running = new LinkedHashMap<>();
+        for (Map.Entry<K, ? extends Callable<V>> task : tasks.entrySet()) {
+            FutureTask<V> future = new FutureTask<>(executor == null ? new BlockingCall<>(task.getValue()) :
+                    task.getValue());
+            running.put(task.getKey(), future);
+            (executor == null ? ForkJoinPool.commonPool() : executor).execute(future);
+        }
+        return collect(running);
+    }
+
+    private static <K, V> Map<K, V> collect(Map<K, FutureTask<V>> running) {
+        ImmutableMap.Builder<K, V> results = ImmutableMap.builder();
+        List<Throwable> failures = new ArrayList<>();
+        for (Map.Entry<K, FutureTask<V>> entry : running.entrySet()) {
+            try {
+                V result = await(entry.getValue());
+                if (result == null) {
+                    failures.add(new ConfigurationException("Loading of [" + entry.getKey() + "] returned no " +
+                            "configuration."));
+                } else {
+                    results.put(entry.getKey(), result);
+                }
+            } catch (ExecutionException e) {
+                failures.add(new ConfigurationException("Loading of [" + entry.getKey() + "] failed.", e.getCause()));
+            }
+        }
+        if (!failures.isEmpty()) {
+            ConfigurationException exception = new ConfigurationException(failures.size() + " of " + running.size()
+                    + " configurations could not be loaded.");
+            for (Throwable failure : failures) {
+                exception.addSuppressed(failure);
+            }
+            throw exception;
+        }
+        return results.build();
+    }
+
+    /**
+     * Waits for the given task without being interrupted. On a thread of a {@link ForkJoinPool}, the pool may start a
+     * spare thread meanwhile.
+     */
+    private static <V> V await(final FutureTask<V> future) throws ExecutionException {
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() {
+                    try {
+                        Uninterruptibles.getUninterruptibly(future);
+                    } catch (ExecutionException e) {
+                        // reported to the caller below
+                    }
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return future.isDone();
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+        }
+        return Uninterruptibles.getUninterruptibly(future);
+    }
+
+    /**
+     * Runs a task as {@link ForkJoinPool.ManagedBlocker managed blocker}, so a pool thread blocked by the task can be
+     * replaced by a spare thread.
+     */
+    private static class BlockingCall<V> implements Callable<V>, ForkJoinPool.ManagedBlocker {
+        private final Callable<V> task;
+        private V result;
+        private Exception failure;
+        private boolean done;
+
+        private BlockingCall(Callable<V> task) {
+            this.task = task;
+        }
+
+        @Override
+        public V call() throws Exception {
+            ForkJoinPool.managedBlock(this);
+            if (failure != null) {
+                throw failure;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean block() {
+            try {
+                result = task.call();
+            } catch (Exception e) {
+                failure = e;
+            }
+            done = true;
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return done;
+        }
+    }
+}
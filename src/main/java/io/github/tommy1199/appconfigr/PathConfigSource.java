@@ -0,0 +1,75 @@
+package io.github.tommy1199.appconfigr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Source reading the configuration files of a directory. The directory may be part of any file system, so the same
+ * implementation serves directories on disk and directories inside zip files or jars.
+ */
+class PathConfigSource implements ConfigSource {
+    private final Path directory;
+
+    PathConfigSource(Path directory) {
+        this.directory = directory;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    Path resolve(String name) {
+        return directory.resolve(name);
+    }
+
+    @Override
+    public boolean exists(String name) {
+        return Files.isRegularFile(resolve(name));
+    }
+
+    @Override
+    public InputStream open(String name) throws IOException {
+        return Files.newInputStream(resolve(name));
+    }
+
+    @Override
+    public Object changeStamp(String name) throws IOException {
+        return FileStamp.of(resolve(name));
+    }
+
+    @Override
+    public Set<String> names() throws IOException {
+        Set<String> names = new LinkedHashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file)) {
+                    names.add(file.getFileName()
+                            .toString());
+                }
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return directory.equals(((PathConfigSource) o).directory);
+    }
+
+    @Override
+    public int hashCode() {
+        return directory.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return directory.toString();
+    }
+}
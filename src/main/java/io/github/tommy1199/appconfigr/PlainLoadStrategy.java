@@ -0,0 +1,117 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.common.base.Charsets;
+import com.google.common.base.Throwables;
+import com.google.common.io.CountingInputStream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loads a file from its source on every load. Variables are either replaced in the whole content before parsing or,
+ * with streaming resolution, resolved inside string values while parsing.
+ */
+class PlainLoadStrategy extends LoadStrategy {
+    private final boolean streamingResolution;
+
+    PlainLoadStrategy(ConfigSource source, ConfigFormats formats, boolean streamingResolution) {
+        super(source, formats);
+        this.streamingResolution = streamingResolution;
+    }
+
+    boolean isStreamingResolution() {
+        return streamingResolution;
+    }
+
+    @Override
+    Set<String> variableNames(ConfigFile file) throws IOException {
+        Set<String> names = new LinkedHashSet<>();
+        for (Variables.Expression variable : variablesOf(file)) {
+            names.add(variable.getValue());
+        }
+        return names;
+    }
+
+    @Override
+    <T> T load(ConfigFile file, Class<?> type, VariableResolver resolver, ContentBinder<T> binder,
+               LoadRecorder recorder) throws IOException {
+        JsonFactory factory = mapperOf(file).getFactory();
+        if (streamingResolution) {
+            CountingInputStream input = new CountingInputStream(file.open());
+            long start = System.nanoTime();
+            try (JsonParser parser = new ResolvingJsonParser(factory.createParser(input), resolver, recorder)) {
+                return binder.bind(parser);
+            } catch (IOException e) {
+                ConfigurationException cause = configurationCauseOf(e);
+                if (cause != null) {
+                    throw cause;
+                }
+                throw e;
+            } finally {
+                if (recorder != null) {
+                    recorder.read(input.getCount(), 0);
+                    recorder.bound(System.nanoTime() - start - recorder.resolveNanos());
+                }
+            }
+        }
+
+        String raw = new String(file.content(recorder), Charsets.UTF_8);
+        long start = System.nanoTime();
+        String content = Variables.replace(raw, resolver, resolver.getResults(Variables.names(raw)), recorder);
+        if (recorder != null) {
+            recorder.resolved(System.nanoTime() - start);
+        }
+
+        start = System.nanoTime();
+        try (JsonParser parser = factory.createParser(content)) {
+            return binder.bind(parser);
+        } finally {
+            if (recorder != null) {
+                recorder.bound(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Returns all variables of the given file which are resolved when it is loaded. With streaming resolution, only
+     * variables inside string values are resolved, so they are collected from the parsed tokens and variables in
+     * comments or field names are left out.
+     */
+    private List<Variables.Expression> variablesOf(ConfigFile file) throws IOException {
+        byte[] content = file.content(null);
+        if (!streamingResolution) {
+            return Variables.find(new String(content, Charsets.UTF_8));
+        }
+        List<Variables.Expression> variables = new ArrayList<>();
+        try (JsonParser parser = mapperOf(file).getFactory()
+                .createParser(content)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null || !parser.isClosed()) {
+                if (token == JsonToken.VALUE_STRING) {
+                    variables.addAll(Variables.find(parser.getText()));
+                }
+            }
+        }
+        return variables;
+    }
+
+    /**
+     * Returns the exception of a variable which could not be resolved while parsing, which Jackson wraps into its own
+     * exceptions, or {@code null} if the given exception has another cause. Rethrowing it lets streaming resolution
+     * fail with the same exception as the resolution before parsing.
+     */
+    private static ConfigurationException configurationCauseOf(IOException e) {
+        for (Throwable cause : Throwables.getCausalChain(e)) {
+            if (cause instanceof ConfigurationException) {
+                return (ConfigurationException) cause;
+            }
+        }
+        return null;
+    }
+}
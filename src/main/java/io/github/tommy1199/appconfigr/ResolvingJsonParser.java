@@ -0,0 +1,163 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.NumberInput;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parser which resolves variables inside scalar string values while the document is parsed. Field names and all
+ * other tokens are passed through unchanged, so resolved values can never change the structure of the document.
+ * <p>
+ * Numbers and booleans given as resolved strings are converted by the usual coercion rules of Jackson.
+ */
+class ResolvingJsonParser extends JsonParserDelegate {
+    private final VariableResolver resolver;
+    private final Map<String, VariableResolver.Result> resolved = new HashMap<>();
+    private final LoadRecorder recorder;
+    private String currentText;
+
+    ResolvingJsonParser(JsonParser delegate, VariableResolver resolver) {
+        this(delegate, resolver, null);
+    }
+
+    ResolvingJsonParser(JsonParser delegate, VariableResolver resolver, LoadRecorder recorder) {
+        super(delegate);
+        this.resolver = resolver;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        currentText = null;
+        return super.nextToken();
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        currentText = null;
+        return super.nextValue();
+    }
+
+    @Override
+    public JsonParser skipChildren() throws IOException {
+        currentText = null;
+        return super.skipChildren();
+    }
+
+    @Override
+    public String getText() throws IOException {
+        return hasToken(JsonToken.VALUE_STRING) ? resolvedText() : super.getText();
+    }
+
+    @Override
+    public int getText(Writer writer) throws IOException {
+        if (!hasToken(JsonToken.VALUE_STRING)) {
+            return super.getText(writer);
+        }
+        String text = resolvedText();
+        writer.write(text);
+        return text.length();
+    }
+
+    @Override
+    public boolean hasTextCharacters() {
+        return !hasToken(JsonToken.VALUE_STRING) && super.hasTextCharacters();
+    }
+
+    @Override
+    public char[] getTextCharacters() throws IOException {
+        return hasToken(JsonToken.VALUE_STRING) ? resolvedText().toCharArray() : super.getTextCharacters();
+    }
+
+    @Override
+    public int getTextLength() throws IOException {
+        return hasToken(JsonToken.VALUE_STRING) ? resolvedText().length() : super.getTextLength();
+    }
+
+    @Override
+    public int getTextOffset() throws IOException {
+        return hasToken(JsonToken.VALUE_STRING) ? 0 : super.getTextOffset();
+    }
+
+    @Override
+    public String getValueAsString() throws IOException {
+        return hasToken(JsonToken.VALUE_STRING) ? resolvedText() : super.getValueAsString();
+    }
+
+    @Override
+    public String getValueAsString(String defaultValue) throws IOException {
+        return hasToken(JsonToken.VALUE_STRING) ? resolvedText() : super.getValueAsString(defaultValue);
+    }
+
+    @Override
+    public int getValueAsInt() throws IOException {
+        return getValueAsInt(0);
+    }
+
+    @Override
+    public int getValueAsInt(int defaultValue) throws IOException {
+        return hasToken(JsonToken.VALUE_STRING) ? NumberInput.parseAsInt(resolvedText(), defaultValue) :
+                super.getValueAsInt(defaultValue);
+    }
+
+    @Override
+    public long getValueAsLong() throws IOException {
+        return getValueAsLong(0L);
+    }
+
+    @Override
+    public long getValueAsLong(long defaultValue) throws IOException {
+        return hasToken(JsonToken.VALUE_STRING) ? NumberInput.parseAsLong(resolvedText(), defaultValue) :
+                super.getValueAsLong(defaultValue);
+    }
+
+    @Override
+    public double getValueAsDouble() throws IOException {
+        return getValueAsDouble(0.0);
+    }
+
+    @Override
+    public double getValueAsDouble(double defaultValue) throws IOException {
+        return hasToken(JsonToken.VALUE_STRING) ? NumberInput.parseAsDouble(resolvedText(), defaultValue) :
+                super.getValueAsDouble(defaultValue);
+    }
+
+    @Override
+    public boolean getValueAsBoolean() throws IOException {
+        return getValueAsBoolean(false);
+    }
+
+    @Override
+    public boolean getValueAsBoolean(boolean defaultValue) throws IOException {
+        if (!hasToken(JsonToken.VALUE_STRING)) {
+            return super.getValueAsBoolean(defaultValue);
+        }
+        String text = resolvedText().trim();
+        if ("true".equals(text)) {
+            return true;
+        }
+        if ("false".equals(text)) {
+            return false;
+        }
+        return defaultValue;
+    }
+
+    private String resolvedText() throws IOException {
+        if (currentText == null) {
+            if (recorder == null) {
+                currentText = Variables.replace(delegate.getText(), resolver, resolved, null);
+            } else {
+                long start = System.nanoTime();
+                currentText = Variables.replace(delegate.getText(), resolver, resolved, recorder);
+                recorder.resolved(System.nanoTime() - start);
+            }
+        }
+        return currentText;
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Charsets;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads a file from the snapshot of its resolved tree. If there is no snapshot for the current content and variable
+ * values yet, the file is parsed like by the {@link PlainLoadStrategy} and the tree is stored as new snapshot. The
+ * variables of the key are found by a text scan of the content, so a snapshot is used without parsing the file.
+ */
+class SnapshotLoadStrategy extends LoadStrategy {
+    private final PlainLoadStrategy plain;
+    private final SnapshotStore snapshots;
+
+    SnapshotLoadStrategy(PlainLoadStrategy plain, SnapshotStore snapshots) {
+        super(plain.source, plain.formats);
+        this.plain = plain;
+        this.snapshots = snapshots;
+    }
+
+    @Override
+    Set<String> variableNames(ConfigFile file) throws IOException {
+        return Variables.names(new String(file.content(null), Charsets.UTF_8));
+    }
+
+    @Override
+    <T> T load(final ConfigFile file, Class<?> type, VariableResolver resolver, ContentBinder<T> binder,
+               LoadRecorder recorder) throws IOException {
+        byte[] content = file.content(recorder);
+        long start = System.nanoTime();
+        // a plain text scan, so a hit does not parse the file even with streaming resolution
+        List<Variables.Expression> variables = Variables.find(new String(content, Charsets.UTF_8));
+        Set<String> names = new LinkedHashSet<>();
+        for (Variables.Expression variable : variables) {
+            names.add(variable.getValue());
+        }
+        Map<String, VariableResolver.Result> results = resolver.getResults(names);
+        Map<String, String> values = new HashMap<>();
+        for (Map.Entry<String, VariableResolver.Result> result : results.entrySet()) {
+            if (VariableResolver.isResolved(result.getValue())) {
+                values.put(result.getKey(), result.getValue()
+                        .get());
+            }
+        }
+        if (recorder != null) {
+            recorder.resolved(System.nanoTime() - start);
+            recorder.variablesFound(variables.size());
+        }
+
+        String key = SnapshotStore.keyOf(content, formatOf(mapperOf(file).getFactory()), plain.isStreamingResolution(),
+                values);
+        start = System.nanoTime();
+        JsonNode tree = snapshots.load(key);
+        if (tree == null) {
+            // variables which cannot be resolved fail here with the message of the resolver, unless they have a
+            // default value or are not resolved by the parse at all, like variables in comments
+            VariableResolver resolved = VariableResolver.fromResults(results);
+            tree = plain.load(file, JsonNode.class, resolved, new ContentBinder<JsonNode>() {
+                @Override
+                public JsonNode bind(JsonParser parser) throws IOException {
+                    return readTree(mapperOf(file), parser, file);
+                }
+
+                @Override
+                public JsonNode bind(JsonNode tree) {
+                    return tree;
+                }
+            }, null);
+            snapshots.store(key, tree);
+        }
+        try {
+            return binder.bind(tree);
+        } finally {
+            if (recorder != null) {
+                recorder.bound(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the format of the given factory. Subclasses of the JSON factory have no format name, so
+     * their class name is used instead.
+     */
+    private static String formatOf(JsonFactory factory) {
+        String formatName = factory.getFormatName();
+        return formatName != null ? formatName : factory.getClass()
+                .getName();
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+/**
+ * Stores resolved configuration trees in the binary Smile format. A snapshot is identified by a key derived from the
+ * content of the source file and the values of all variables, so a changed file or a changed variable leads to a new
+ * snapshot instead of a stale one.
+ * <p>
+ * Snapshots are written to a temporary file first and then moved to their final name, so concurrent processes never
+ * read a partially written snapshot.
+ */
+class SnapshotStore {
+    private static final String SUFFIX = ".smile";
+
+    private final Path directory;
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    SnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the key of the snapshot for the given source content and variable values.
+     */
+    static String keyOf(byte[] source, String format, boolean streamingResolution, Map<String, String> values) {
+        Hasher hasher = Hashing.sha256()
+                .newHasher()
+                .putBytes(source)
+                .putString(format, Charsets.UTF_8)
+                .putBoolean(streamingResolution);
+        for (Map.Entry<String, String> value : new TreeMap<>(values).entrySet()) {
+            hasher.putInt(value.getKey()
+                    .length())
+                    .putString(value.getKey(), Charsets.UTF_8)
+                    .putInt(value.getValue()
+                            .length())
+                    .putString(value.getValue(), Charsets.UTF_8);
+        }
+        return hasher.hash()
+                .toString();
+    }
+
+    /**
+     * Returns the stored tree for the given key or {@code null} if there is no valid snapshot.
+     */
+    JsonNode load(String key) {
+        Path snapshot = directory.resolve(key + SUFFIX);
+        try {
+            return smileMapper.readTree(Files.readAllBytes(snapshot));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            deleteQuietly(snapshot);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the given tree under the given key. Failures are ignored, as the snapshot is only an optimization.
+     */
+    void store(String key, JsonNode tree) {
+        Path temporary = null;
+        try {
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temporary, smileMapper.writeValueAsBytes(tree));
+            Files.move(temporary, directory.resolve(key + SUFFIX), ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (temporary != null) {
+                deleteQuietly(temporary);
+            }
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // the snapshot will be replaced by the next store
+        }
+    }
+}
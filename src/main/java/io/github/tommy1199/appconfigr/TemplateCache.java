@@ -0,0 +1,108 @@
+package io.github.tommy1199.appconfigr;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.ByteStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the compiled template of each configuration file and the last configuration bound from it. A template is
+ * compiled again only if the change stamp of its file changes. A configuration is bound again only if one of the
+ * resolved values has changed since it was bound.
+ */
+class TemplateCache {
+    private final ConfigSource source;
+    private final ConcurrentMap<String, Compiled> templates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ConfigCache.Key, Rendered> rendered = new ConcurrentHashMap<>();
+
+    TemplateCache(ConfigSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Returns the configuration of the given type and file, rendered with the current values of the resolver. Each
+     * phase is measured by the given recorder, if it is not {@code null}. The binder must always bind the given type
+     * for the given file, as its results are kept by both.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(Class<?> type, String fileName, VariableResolver resolver, Binder<T> binder, LoadRecorder recorder)
+            throws IOException {
+        ConfigTemplate template = templateOf(fileName, recorder);
+        long start = System.nanoTime();
+        String[] values = template.resolve(resolver);
+        if (recorder != null) {
+            recorder.resolved(System.nanoTime() - start);
+            recorder.variablesFound(values.length);
+        }
+        ConfigCache.Key key = new ConfigCache.Key(type, fileName);
+        Rendered previous = rendered.get(key);
+        if (previous != null && previous.template == template && Arrays.equals(previous.values, values)) {
+            return (T) previous.config;
+        }
+        start = System.nanoTime();
+        T config = binder.bind(template.render(values));
+        if (recorder != null) {
+            recorder.bound(System.nanoTime() - start);
+        }
+        rendered.put(key, new Rendered(template, values, config));
+        return config;
+    }
+
+    /**
+     * Returns the names of all variables of the template of the given file.
+     */
+    Set<String> variableNames(String fileName) throws IOException {
+        return templateOf(fileName, null).getVariableNames();
+    }
+
+    private ConfigTemplate templateOf(String fileName, LoadRecorder recorder) throws IOException {
+        Object stamp = source.changeStamp(fileName);
+        Compiled compiled = templates.get(fileName);
+        if (compiled != null && compiled.stamp.equals(stamp)) {
+            return compiled.template;
+        }
+        long start = System.nanoTime();
+        byte[] bytes;
+        try (InputStream input = source.open(fileName)) {
+            bytes = ByteStreams.toByteArray(input);
+        }
+        if (recorder != null) {
+            recorder.read(bytes.length, System.nanoTime() - start);
+        }
+        String content = new String(bytes, Charsets.UTF_8);
+        ConfigTemplate template = ConfigTemplate.compile(content);
+        templates.put(fileName, new Compiled(stamp, template));
+        return template;
+    }
+
+    interface Binder<T> {
+        T bind(String content) throws IOException;
+    }
+
+    private static class Compiled {
+        private final Object stamp;
+        private final ConfigTemplate template;
+
+        private Compiled(Object stamp, ConfigTemplate template) {
+            this.stamp = stamp;
+            this.template = template;
+        }
+    }
+
+    private static class Rendered {
+        private final ConfigTemplate template;
+        private final String[] values;
+        private final Object config;
+
+        private Rendered(ConfigTemplate template, String[] values, Object config) {
+            this.template = template;
+            this.values = values;
+            this.config = config;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Loads a file from its compiled template. The {@link TemplateCache} keeps the template and the last result bound for
+ * each type, so a load only resolves the variables again and binds only if a value has changed.
+ */
+class TemplateLoadStrategy extends LoadStrategy {
+    private final TemplateCache templates;
+
+    TemplateLoadStrategy(ConfigSource source, ConfigFormats formats) {
+        super(source, formats);
+        this.templates = new TemplateCache(source);
+    }
+
+    @Override
+    Set<String> variableNames(ConfigFile file) throws IOException {
+        return templates.variableNames(file.getName());
+    }
+
+    @Override
+    <T> T load(final ConfigFile file, Class<?> type, VariableResolver resolver, final ContentBinder<T> binder,
+               LoadRecorder recorder) throws IOException {
+        return templates.get(type, file.getName(), resolver, new TemplateCache.Binder<T>() {
+            @Override
+            public T bind(String content) throws IOException {
+                try (JsonParser parser = mapperOf(file).getFactory()
+                        .createParser(content)) {
+                    return binder.bind(parser);
+                }
+            }
+        }, recorder);
+    }
+}
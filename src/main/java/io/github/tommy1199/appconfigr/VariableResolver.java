@@ -1,5 +1,31 @@
 package io.github.tommy1199.appconfigr;
 
+import com.google.common.base.Charsets;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -7,6 +33,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * configuration files. It provides ready to use providers based on environment variables and system properties.
  */
 public abstract class VariableResolver {
+    private static final long DEFAULT_CACHE_SIZE = 1000;
 
     /**
      * Returns a VariableResolver which is based on environment variables.
@@ -21,9 +48,14 @@ public abstract class VariableResolver {
                 if (result != null) {
                     return Result.some(result);
                 } else {
-                    return Result.none("[" + variableName + "] can not be resolved from the environment variables.");
+                    return Result.notResolvable(variableName, "environment variables");
                 }
             }
+
+            @Override
+            public String toString() {
+                return "environment variables";
+            }
         };
     }
 
@@ -40,12 +72,52 @@ public abstract class VariableResolver {
                 if (result != null) {
                     return Result.some(result);
                 } else {
-                    return Result.none("[" + variableName + "] can not be resolved from the system properties.");
+                    return Result.notResolvable(variableName, "system properties");
                 }
             }
+
+            @Override
+            public String toString() {
+                return "system properties";
+            }
         };
     }
 
+    /**
+     * Returns a VariableResolver which uses the variable name as path of a file and resolves it to the content of
+     * this file, like a secret mounted into a container. A single trailing line break is removed from the content.
+     *
+     * @return a resolver which is backed by files.
+     */
+    public static VariableResolver fromFiles() {
+        return new VariableResolver() {
+            @Override
+            Result resolve(String variableName) {
+                try {
+                    String result = new String(Files.readAllBytes(Paths.get(variableName)), Charsets.UTF_8);
+                    return Result.some(stripLineBreak(result));
+                } catch (IOException | InvalidPathException e) {
+                    return Result.notResolvable(variableName, "files");
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "files";
+            }
+        };
+    }
+
+    private static String stripLineBreak(String content) {
+        if (content.endsWith("\r\n")) {
+            return content.substring(0, content.length() - 2);
+        }
+        if (content.endsWith("\n")) {
+            return content.substring(0, content.length() - 1);
+        }
+        return content;
+    }
+
     /**
      * Returns the resolved value for the given variable name.
      *
@@ -55,7 +127,15 @@ public abstract class VariableResolver {
     final public String get(String variableName) {
         checkNotNull(variableName, "Variable Name must not be null");
 
-        Result result = resolve(variableName);
+        return valueOf(resolve(variableName));
+    }
+
+    /**
+     * Returns the value of the given result.
+     *
+     * @throws ConfigurationException with the message of the result if it is not resolved
+     */
+    static String valueOf(Result result) {
         if (result instanceof Result.Some) {
             return result.get();
         } else {
@@ -63,12 +143,168 @@ public abstract class VariableResolver {
         }
     }
 
+    /**
+     * Returns whether the given result holds a resolved value.
+     */
+    static boolean isResolved(Result result) {
+        return result instanceof Result.Some && !(result instanceof Result.Literal);
+    }
+
+    /**
+     * Returns whether the given result keeps the variable as it is written, see {@link Result#literal(String)}.
+     */
+    static boolean isLiteral(Result result) {
+        return result instanceof Result.Literal;
+    }
+
+    /**
+     * Returns the resolved values of all given variable names which can be resolved, with a single call of
+     * {@link #resolveAll(Set)}. Variables which cannot be resolved are left out, so they can fall back to their
+     * default values.
+     */
+    final Map<String, String> getResolvable(Set<String> variableNames) {
+        Map<String, String> values = new HashMap<>();
+        if (variableNames.isEmpty()) {
+            return values;
+        }
+        Map<String, Result> results = resolveAll(variableNames);
+        for (String variableName : variableNames) {
+            Result result = results.get(variableName);
+            if (isResolved(result)) {
+                values.put(variableName, result.get());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns the results of all given variable names with a single call of {@link #resolveAll(Set)}. Unlike
+     * {@link #getResolvable(Set)}, variables which cannot be resolved are kept with their failure, so it can be
+     * reported without resolving the variable again.
+     */
+    final Map<String, Result> getResults(Set<String> variableNames) {
+        Map<String, Result> results = new HashMap<>();
+        if (variableNames.isEmpty()) {
+            return results;
+        }
+        Map<String, Result> resolved = resolveAll(variableNames);
+        for (String variableName : variableNames) {
+            Result result = resolved.get(variableName);
+            results.put(variableName, result != null ? result : Result.notResolvable(variableName, toString()));
+        }
+        return results;
+    }
+
     /**
      * Should be implemented by subclasses. This method should not throw any exception, but should return a
      * {@link Result.None} with a describing message instead.
      */
     abstract Result resolve(String variableName);
 
+    /**
+     * Resolves all given variables at once. {@link AppConfigr} collects the distinct variables of a file and resolves
+     * them with a single call of this method. The default implementation resolves each variable with
+     * {@link #resolve(String)}. Resolvers backed by an expensive source can override this method to fetch all values
+     * in bulk. Like {@link #resolve(String)}, this method should not throw any exception, but should return a
+     * {@link Result.None} for each variable which cannot be resolved.
+     *
+     * @return the results of all given variables by their names
+     */
+    protected Map<String, Result> resolveAll(Set<String> variableNames) {
+        Map<String, Result> results = new HashMap<>();
+        for (String variableName : variableNames) {
+            results.put(variableName, resolve(variableName));
+        }
+        return results;
+    }
+
+    /**
+     * Resolves the given variable asynchronously. The default implementation resolves the variable synchronously
+     * with {@link #resolve(String)}. Resolvers doing I/O can override this method to complete the result without
+     * blocking the calling thread. Like {@link #resolve(String)}, the returned future should not complete
+     * exceptionally, but with a {@link Result.None} instead.
+     *
+     * @return a future completed with the result for the given variable
+     */
+    protected CompletableFuture<Result> resolveAsync(String variableName) {
+        return CompletableFuture.completedFuture(resolve(variableName));
+    }
+
+    /**
+     * Resolves all given variables asynchronously. Like {@link #getResolvable(Set)}, variables which cannot be
+     * resolved are left out.
+     */
+    CompletableFuture<Map<String, String>> resolveAllAsync(Set<String> variableNames) {
+        Map<String, CompletableFuture<Result>> pending = new LinkedHashMap<>();
+        for (String variableName : variableNames) {
+            pending.put(variableName, resolveAsync(variableName));
+        }
+        return CompletableFuture.allOf(pending.values()
+                .toArray(new CompletableFuture<?>[pending.size()]))
+                .thenApply(done -> {
+                    Map<String, String> values = new HashMap<>();
+                    for (Map.Entry<String, CompletableFuture<Result>> entry : pending.entrySet()) {
+                        Result result = entry.getValue()
+                                .join();
+                        if (isResolved(result)) {
+                            values.put(entry.getKey(), result.get());
+                        }
+                    }
+                    return values;
+                });
+    }
+
+    /**
+     * Returns a VariableResolver which resolves the variables from the given map.
+     */
+    static VariableResolver fromMap(final Map<String, String> values) {
+        return new VariableResolver() {
+            @Override
+            Result resolve(String variableName) {
+                String result = values.get(variableName);
+                if (result != null) {
+                    return Result.some(result);
+                } else {
+                    return Result.notResolvable(variableName, "resolved values");
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "resolved values";
+            }
+        };
+    }
+
+    /**
+     * Returns a VariableResolver which returns the given results, e.g. of {@link #getResults(Set)}, so variables are
+     * not resolved again and failures keep the message of the resolver which produced them.
+     */
+    static VariableResolver fromResults(final Map<String, Result> results) {
+        return new VariableResolver() {
+            @Override
+            Result resolve(String variableName) {
+                Result result = results.get(variableName);
+                return result != null ? result : Result.notResolvable(variableName, "resolved values");
+            }
+
+            @Override
+            public String toString() {
+                return "resolved values";
+            }
+        };
+    }
+
+    /**
+     * Returns a VariableResolver which routes namespaced variables like {@code ${env:HOME}} directly to the resolver
+     * registered for their namespace, without the namespace. Variables without namespace are resolved by the given
+     * fallback. A variable with an unknown namespace is left as it is written, like {@code ${jdbc:url}} was before
+     * namespaces existed.
+     */
+    static VariableResolver namespaced(Map<String, VariableResolver> namespaces, VariableResolver fallback) {
+        return new NamespacedResolver(ImmutableMap.copyOf(namespaces), fallback);
+    }
+
     /**
      * Returns a new VariableResolver which uses first {@code this} to resolve the variable than the fallback
      * resolver. If none of them can resolve the variable a {@link ConfigurationException} is thrown with the
@@ -80,6 +316,240 @@ public abstract class VariableResolver {
         return new WithFallbackResolver(this, fallback);
     }
 
+    /**
+     * Returns a new VariableResolver which caches the results of {@code this} resolver for the given time to live. At
+     * most 1000 variables are cached. See {@link #cached(long, TimeUnit, long)} for details.
+     *
+     * @return a resolver which caches the results of {@code this}
+     */
+    public VariableResolver cached(long ttl, TimeUnit unit) {
+        return cached(ttl, unit, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Returns a new VariableResolver which caches the results of {@code this} resolver for the given time to live. At
+     * most 1000 variables are cached. See {@link #cached(long, TimeUnit, long)} for details.
+     *
+     * @return a resolver which caches the results of {@code this}
+     * @throws NullPointerException if the given time to live is {@code null}
+     */
+    public VariableResolver cached(Duration ttl) {
+        checkNotNull(ttl, "The given time to live must not be null");
+        return cached(ttl.toNanos(), TimeUnit.NANOSECONDS, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Returns a new VariableResolver which caches the results of {@code this} resolver. When a cached result is older
+     * than the given time to live, it is still returned once while it is refreshed in the background, so lookups never
+     * wait for a refresh. Results of variables which cannot be resolved are cached as well.
+     *
+     * @param ttl         the time after which a cached result gets refreshed
+     * @param unit        the unit of the time to live
+     * @param maximumSize the maximum number of cached variables
+     * @return a resolver which caches the results of {@code this}
+     * @throws IllegalArgumentException if the time to live or the maximum size is not positive
+     * @throws NullPointerException     if the given unit is {@code null}
+     */
+    public VariableResolver cached(long ttl, TimeUnit unit, long maximumSize) {
+        checkNotNull(unit, "The given time unit must not be null");
+        checkArgument(ttl > 0, "The time to live must be positive");
+        checkArgument(maximumSize > 0, "The maximum size must be positive");
+        return new CachedResolver(this, unit.toNanos(ttl), maximumSize);
+    }
+
+    /**
+     * Returns a resolver which reports the hits and misses of {@code this} resolver to the given recorder. Resolvers
+     * combining other resolvers report the results of each combined resolver instead.
+     */
+    VariableResolver recordingInto(LoadRecorder recorder) {
+        return new RecordingResolver(this, recorder);
+    }
+
+    private static class RecordingResolver extends VariableResolver {
+        private final VariableResolver original;
+        private final LoadRecorder recorder;
+
+        private RecordingResolver(VariableResolver original, LoadRecorder recorder) {
+            this.original = original;
+            this.recorder = recorder;
+        }
+
+        @Override
+        Result resolve(String variableName) {
+            Result result = original.resolve(variableName);
+            recorder.resolverUsed(original, result instanceof Result.Some);
+            return result;
+        }
+
+        @Override
+        protected Map<String, Result> resolveAll(Set<String> variableNames) {
+            Map<String, Result> results = original.resolveAll(variableNames);
+            for (String variableName : variableNames) {
+                recorder.resolverUsed(original, results.get(variableName) instanceof Result.Some);
+            }
+            return results;
+        }
+
+        @Override
+        public String toString() {
+            return original.toString();
+        }
+    }
+
+    private static class CachedResolver extends VariableResolver {
+        private static final Executor REFRESH_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("appconfigr-resolver-refresh-%d")
+                .build());
+
+        private final VariableResolver original;
+        private final LoadingCache<String, Result> results;
+
+        private CachedResolver(final VariableResolver original, long ttlNanos, long maximumSize) {
+            this.original = original;
+            this.results = CacheBuilder.newBuilder()
+                    .maximumSize(maximumSize)
+                    .refreshAfterWrite(ttlNanos, TimeUnit.NANOSECONDS)
+                    .build(CacheLoader.asyncReloading(new CacheLoader<String, Result>() {
+                        @Override
+                        public Result load(String variableName) {
+                            return original.resolve(variableName);
+                        }
+
+                        /**
+                         * Fills in the variables missing in the results of the original resolver, as the cache
+                         * fails for a batch which does not contain every requested variable.
+                         */
+                        @Override
+                        public Map<String, Result> loadAll(Iterable<? extends String> variableNames) {
+                            Map<String, Result> results = new HashMap<>(original.resolveAll(ImmutableSet.copyOf(
+                                    variableNames)));
+                            for (String variableName : variableNames) {
+                                if (results.get(variableName) == null) {
+                                    results.put(variableName, Result.notResolvable(variableName,
+                                            original.toString()));
+                                }
+                            }
+                            return results;
+                        }
+                    }, REFRESH_EXECUTOR));
+        }
+
+        @Override
+        Result resolve(String variableName) {
+            return results.getUnchecked(variableName);
+        }
+
+        @Override
+        protected Map<String, Result> resolveAll(Set<String> variableNames) {
+            try {
+                return results.getAll(variableNames);
+            } catch (ExecutionException e) {
+                throw new UncheckedExecutionException(e.getCause());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "cached " + original;
+        }
+    }
+
+    private static class NamespacedResolver extends VariableResolver {
+        private static final char SEPARATOR = ':';
+
+        private final Map<String, VariableResolver> namespaces;
+        private final VariableResolver fallback;
+
+        private NamespacedResolver(Map<String, VariableResolver> namespaces, VariableResolver fallback) {
+            this.namespaces = namespaces;
+            this.fallback = fallback;
+        }
+
+        @Override
+        Result resolve(String variableName) {
+            int separator = variableName.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return fallback.resolve(variableName);
+            }
+            VariableResolver resolver = namespaces.get(variableName.substring(0, separator));
+            if (resolver == null) {
+                return Result.literal(variableName);
+            }
+            return resolver.resolve(variableName.substring(separator + 1));
+        }
+
+        /**
+         * Groups the variables by their namespace, so each resolver is asked only once for all of its variables.
+         */
+        @Override
+        protected Map<String, Result> resolveAll(Set<String> variableNames) {
+            Map<String, Result> results = new HashMap<>();
+            Set<String> plainNames = new LinkedHashSet<>();
+            Map<String, Map<String, String>> namesByNamespace = new HashMap<>();
+            for (String variableName : variableNames) {
+                int separator = variableName.indexOf(SEPARATOR);
+                if (separator < 0) {
+                    plainNames.add(variableName);
+                    continue;
+                }
+                String namespace = variableName.substring(0, separator);
+                if (!namespaces.containsKey(namespace)) {
+                    results.put(variableName, Result.literal(variableName));
+                    continue;
+                }
+                Map<String, String> names = namesByNamespace.get(namespace);
+                if (names == null) {
+                    names = new LinkedHashMap<>();
+                    namesByNamespace.put(namespace, names);
+                }
+                names.put(variableName.substring(separator + 1), variableName);
+            }
+            if (!plainNames.isEmpty()) {
+                results.putAll(fallback.resolveAll(plainNames));
+            }
+            for (Map.Entry<String, Map<String, String>> entry : namesByNamespace.entrySet()) {
+                Map<String, String> names = entry.getValue();
+                VariableResolver resolver = namespaces.get(entry.getKey());
+                Map<String, Result> namespaceResults = resolver.resolveAll(names.keySet());
+                for (Map.Entry<String, String> name : names.entrySet()) {
+                    Result result = namespaceResults.get(name.getKey());
+                    results.put(name.getValue(), result != null ? result : Result.notResolvable(name.getValue(),
+                            resolver.toString()));
+                }
+            }
+            return results;
+        }
+
+        @Override
+        protected CompletableFuture<Result> resolveAsync(String variableName) {
+            int separator = variableName.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return fallback.resolveAsync(variableName);
+            }
+            VariableResolver resolver = namespaces.get(variableName.substring(0, separator));
+            if (resolver == null) {
+                return CompletableFuture.completedFuture(Result.literal(variableName));
+            }
+            return resolver.resolveAsync(variableName.substring(separator + 1));
+        }
+
+        @Override
+        VariableResolver recordingInto(LoadRecorder recorder) {
+            Map<String, VariableResolver> recordingNamespaces = new HashMap<>();
+            for (Map.Entry<String, VariableResolver> entry : namespaces.entrySet()) {
+                recordingNamespaces.put(entry.getKey(), entry.getValue()
+                        .recordingInto(recorder));
+            }
+            return new NamespacedResolver(recordingNamespaces, fallback.recordingInto(recorder));
+        }
+
+        @Override
+        public String toString() {
+            return "namespaces " + namespaces.keySet() + " with fallback " + fallback;
+        }
+    }
+
     private static class WithFallbackResolver extends VariableResolver {
         private final VariableResolver original;
         private final VariableResolver fallback;
@@ -95,17 +565,70 @@ public abstract class VariableResolver {
             if (result instanceof Result.Some) {
                 return result;
             } else {
-                return fallback(variableName, ((Result.None) result).getMsg());
+                return fallback(variableName, (Result.None) result);
             }
         }
 
-        Result fallback(String variableName, String originalMsg) {
+        Result fallback(String variableName, Result.None originalResult) {
             Result result = fallback.resolve(variableName);
             if (result instanceof Result.Some) {
                 return result;
             } else {
-                return Result.none(originalMsg + " " + ((Result.None) result).getMsg());
+                return new Result.Combined(originalResult, (Result.None) result);
+            }
+        }
+
+        /**
+         * Resolves all variables with the original resolver and passes only the variables which could not be resolved
+         * on to the fallback.
+         */
+        @Override
+        protected Map<String, Result> resolveAll(Set<String> variableNames) {
+            Map<String, Result> results = new HashMap<>(original.resolveAll(variableNames));
+            Set<String> leftovers = new LinkedHashSet<>();
+            for (String variableName : variableNames) {
+                if (!(results.get(variableName) instanceof Result.Some)) {
+                    leftovers.add(variableName);
+                }
             }
+            if (leftovers.isEmpty()) {
+                return results;
+            }
+            Map<String, Result> fallbackResults = fallback.resolveAll(leftovers);
+            for (String variableName : leftovers) {
+                Result originalResult = results.get(variableName);
+                Result fallbackResult = fallbackResults.get(variableName);
+                if (fallbackResult instanceof Result.Some || originalResult == null) {
+                    results.put(variableName, fallbackResult);
+                } else if (fallbackResult != null) {
+                    results.put(variableName, new Result.Combined((Result.None) originalResult,
+                            (Result.None) fallbackResult));
+                }
+            }
+            return results;
+        }
+
+        @Override
+        protected CompletableFuture<Result> resolveAsync(String variableName) {
+            return original.resolveAsync(variableName)
+                    .thenCompose(result -> {
+                        if (result instanceof Result.Some) {
+                            return CompletableFuture.completedFuture(result);
+                        }
+                        return fallback.resolveAsync(variableName)
+                                .thenApply(fallbackResult -> fallbackResult instanceof Result.Some ? fallbackResult :
+                                        new Result.Combined((Result.None) result, (Result.None) fallbackResult));
+                    });
+        }
+
+        @Override
+        VariableResolver recordingInto(LoadRecorder recorder) {
+            return new WithFallbackResolver(original.recordingInto(recorder), fallback.recordingInto(recorder));
+        }
+
+        @Override
+        public String toString() {
+            return original + " with fallback " + fallback;
         }
     }
 
@@ -125,6 +648,21 @@ public abstract class VariableResolver {
             return new None(msg);
         }
 
+        /**
+         * Creates a None result whose message is only built when it is requested.
+         */
+        static Result notResolvable(String variableName, String source) {
+            return new NotResolvable(variableName, source);
+        }
+
+        /**
+         * Creates a result which keeps the variable as it is written in the content, including its default value. It
+         * is used for variables which are no variables at all, like {@code ${jdbc:url}}, whose namespace is unknown.
+         */
+        static Result literal(String variableName) {
+            return new Literal(variableName);
+        }
+
         public abstract String get();
 
         private static class Some extends Result {
@@ -140,6 +678,12 @@ public abstract class VariableResolver {
             }
         }
 
+        private static class Literal extends Some {
+            private Literal(String variableName) {
+                super("${" + variableName + "}");
+            }
+        }
+
         private static class None extends Result {
             private final String msg;
 
@@ -156,5 +700,37 @@ public abstract class VariableResolver {
                 return msg;
             }
         }
+
+        private static class NotResolvable extends None {
+            private final String variableName;
+            private final String source;
+
+            private NotResolvable(String variableName, String source) {
+                super(null);
+                this.variableName = variableName;
+                this.source = source;
+            }
+
+            @Override
+            public String getMsg() {
+                return "[" + variableName + "] can not be resolved from the " + source + ".";
+            }
+        }
+
+        private static class Combined extends None {
+            private final None first;
+            private final None second;
+
+            private Combined(None first, None second) {
+                super(null);
+                this.first = first;
+                this.second = second;
+            }
+
+            @Override
+            public String getMsg() {
+                return first.getMsg() + " " + second.getMsg();
+            }
+        }
     }
 }
\ No newline at end of file
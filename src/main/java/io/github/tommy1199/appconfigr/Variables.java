@@ -1,57 +1,247 @@
 package io.github.tommy1199.appconfigr;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
 
 /**
- * Utility to extract variables from a string.
+ * Utility to extract variables from a string. A variable has the form {@code ${name}}, where the name consists of
+ * letters, digits, underscores and dots. A default value can be given like {@code ${name:-default}}, it is used if
+ * the variable cannot be resolved. The default value may contain any character except closing braces and line
+ * breaks.
+ * <p>
+ * A name followed by a colon is the namespace of the variable, like {@code ${env:HOME}}. The rest of a namespaced
+ * name may contain any character except closing braces, line breaks and the default separator, so it can hold
+ * paths like {@code ${file:/run/secrets/db}}. The namespace is part of the name passed to the resolver. Variables
+ * whose namespace is not registered are left as they are written.
  */
 class Variables {
-    private static final String VAR_CAPTURE = "VAR";
-    private static final String VAR_MATCHER = "\\$\\{(?<" + VAR_CAPTURE + ">[\\w\\.]+)}";
+    private static final String VAR_START = "${";
+    private static final String DEFAULT_SEPARATOR = ":-";
+    private static final char NAMESPACE_SEPARATOR = ':';
+    private static final char VAR_END = '}';
 
     private Variables() {
     }
 
     static List<Expression> find(String content) {
         List<Expression> variables = new ArrayList<>();
-        Pattern pattern = Pattern.compile(VAR_MATCHER);
-        Matcher matcher = pattern.matcher(content);
-        while (matcher.find()) {
-            variables.add(new Expression(matcher.group(VAR_CAPTURE)));
+        int start = content.indexOf(VAR_START);
+        while (start >= 0) {
+            int end = endOf(content, start);
+            if (end < 0) {
+                start = content.indexOf(VAR_START, start + 1);
+            } else {
+                int nameEnd = nameEndOf(content, start);
+                variables.add(new Expression(content.substring(start + VAR_START.length(), nameEnd),
+                        defaultOf(content, nameEnd, end)));
+                start = content.indexOf(VAR_START, end + 1);
+            }
         }
         return variables;
     }
 
+    /**
+     * Returns the distinct names of all variables in the given content.
+     */
+    static Set<String> names(String content) {
+        Set<String> names = new LinkedHashSet<>();
+        addNames(content, names);
+        return names;
+    }
+
+    /**
+     * Adds the names of all variables in the given content to the given set.
+     */
+    static void addNames(String content, Set<String> names) {
+        int start = content.indexOf(VAR_START);
+        while (start >= 0) {
+            int end = endOf(content, start);
+            if (end < 0) {
+                start = content.indexOf(VAR_START, start + 1);
+            } else {
+                names.add(content.substring(start + VAR_START.length(), nameEndOf(content, start)));
+                start = content.indexOf(VAR_START, end + 1);
+            }
+        }
+    }
+
+    /**
+     * Replaces all variables in the given content with their values in a single pass. The distinct variables are
+     * resolved with a single call of {@link VariableResolver#resolveAll(Set)}, the resolved values are inserted
+     * literally.
+     *
+     * @throws ConfigurationException if a variable without default value cannot be resolved
+     */
+    static String replace(String content, VariableResolver resolver) {
+        if (content.indexOf(VAR_START) < 0) {
+            return content;
+        }
+        return replace(content, resolver, resolver.getResults(names(content)), null);
+    }
+
+    /**
+     * Replaces all variables like {@link #replace(String, VariableResolver)}, but looks up and stores the results in
+     * the given map. This allows to share the results between several calls, so each variable is resolved at most
+     * once, even if it cannot be resolved. Each found variable is counted by the given recorder, if it is not
+     * {@code null}.
+     *
+     * @throws ConfigurationException if a variable without default value cannot be resolved
+     */
+    static String replace(String content, VariableResolver resolver, Map<String, VariableResolver.Result> results,
+                          LoadRecorder recorder) {
+        int start = content.indexOf(VAR_START);
+        if (start < 0) {
+            return content;
+        }
+        StringBuilder out = new StringBuilder(content.length());
+        int copied = 0;
+        while (start >= 0) {
+            int end = endOf(content, start);
+            if (end < 0) {
+                start = content.indexOf(VAR_START, start + 1);
+                continue;
+            }
+            if (recorder != null) {
+                recorder.variableFound();
+            }
+            int nameEnd = nameEndOf(content, start);
+            String name = content.substring(start + VAR_START.length(), nameEnd);
+            VariableResolver.Result result = results.get(name);
+            if (result == null) {
+                result = resolver.resolve(name);
+                results.put(name, result);
+            }
+            String value;
+            if (VariableResolver.isLiteral(result)) {
+                value = content.substring(start, end + 1);
+            } else {
+                value = nameEnd == end || VariableResolver.isResolved(result) ? VariableResolver.valueOf(result) :
+                        defaultOf(content, nameEnd, end);
+            }
+            out.append(content, copied, start)
+                    .append(value);
+            copied = end + 1;
+            start = content.indexOf(VAR_START, copied);
+        }
+        return out.append(content, copied, content.length())
+                .toString();
+    }
+
+    /**
+     * Returns the index of the closing brace of the variable starting at the given index or {@code -1} if there is no
+     * valid variable at this position.
+     */
+    static int endOf(String content, int start) {
+        int nameStart = start + VAR_START.length();
+        int i = nameEndOf(content, start);
+        if (i == nameStart || i == content.length()) {
+            return -1;
+        }
+        if (content.startsWith(DEFAULT_SEPARATOR, i)) {
+            i += DEFAULT_SEPARATOR.length();
+            while (i < content.length() && content.charAt(i) != VAR_END && content.charAt(i) != '\n' &&
+                    content.charAt(i) != '\r') {
+                i++;
+            }
+        }
+        if (i == content.length() || content.charAt(i) != VAR_END) {
+            return -1;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the index after the name of the variable starting at the given index.
+     */
+    static int nameEndOf(String content, int start) {
+        int nameStart = start + VAR_START.length();
+        int i = nameStart;
+        while (i < content.length() && isNameChar(content.charAt(i))) {
+            i++;
+        }
+        if (i == nameStart || i == content.length() || content.charAt(i) != NAMESPACE_SEPARATOR ||
+                content.startsWith(DEFAULT_SEPARATOR, i)) {
+            return i;
+        }
+        int end = i + 1;
+        while (end < content.length() && !isNamespacedNameEnd(content, end)) {
+            end++;
+        }
+        // a namespace without a name is not a valid variable
+        return end == i + 1 ? i : end;
+    }
+
+    private static boolean isNamespacedNameEnd(String content, int i) {
+        char c = content.charAt(i);
+        return c == VAR_END || c == '\n' || c == '\r' || content.startsWith(DEFAULT_SEPARATOR, i);
+    }
+
+    /**
+     * Returns the default value of a variable, given the end of its name and its closing brace, or {@code null} if
+     * it has no default value.
+     */
+    static String defaultOf(String content, int nameEnd, int end) {
+        return nameEnd == end ? null : content.substring(nameEnd + DEFAULT_SEPARATOR.length(), end);
+    }
+
+    /**
+     * Returns the index of the first variable in the given content at or after the given index or {@code -1}.
+     */
+    static int startOf(String content, int from) {
+        return content.indexOf(VAR_START, from);
+    }
+
+    /**
+     * Returns the name of the variable starting at the given index.
+     */
+    static String nameOf(String content, int start) {
+        return content.substring(start + VAR_START.length(), nameEndOf(content, start));
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '.';
+    }
+
     static class Expression {
         private String value;
+        private String defaultValue;
 
         public Expression(String value) {
+            this(value, null);
+        }
+
+        public Expression(String value, String defaultValue) {
             this.value = value;
+            this.defaultValue = defaultValue;
         }
 
         public String getValue() {
             return value;
         }
 
+        public String getDefaultValue() {
+            return defaultValue;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Expression that = (Expression) o;
-            return Objects.equals(value, that.value);
+            return Objects.equals(value, that.value) && Objects.equals(defaultValue, that.defaultValue);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(value);
+            return Objects.hash(value, defaultValue);
         }
 
         public String toString() {
-            return "${" + value + "}";
+            return defaultValue == null ? "${" + value + "}" : "${" + value + DEFAULT_SEPARATOR + defaultValue + "}";
         }
     }
 }
@@ -6,8 +6,11 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.contrib.java.lang.system.EnvironmentVariables;
 import org.junit.contrib.java.lang.system.ProvideSystemProperty;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -23,6 +26,9 @@ public class AppConfigrTest {
     public final ProvideSystemProperty property1 = new ProvideSystemProperty("REPLACE_ME_WITH_SYS_PROP_STRING", "good" +
             " morning");
 
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
     private File sampleConfigsDirectory;
 
     @Before
@@ -176,4 +182,78 @@ public class AppConfigrTest {
         assertThat(config.getSampleString()).isEqualTo("YIPPIE");
         assertThat(config.getSampleInt()).isEqualTo(100);
     }
-}
\ No newline at end of file
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectTemplatesWithStreamingResolution() {
+        AppConfigr.fromSource(ConfigSources.inMemory())
+                .withCompiledTemplates()
+                .withStreamingResolution()
+                .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectTemplatesWithCaching() {
+        AppConfigr.fromSource(ConfigSources.inMemory())
+                .withCompiledTemplates()
+                .withCaching()
+                .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectTemplatesWithOverlays() {
+        AppConfigr.fromSource(ConfigSources.inMemory())
+                .withCompiledTemplates()
+                .withSystemPropertyOverlay("appconfigr.")
+                .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectTemplatesWithSnapshots() throws Exception {
+        AppConfigr.fromSource(ConfigSources.inMemory())
+                .withCompiledTemplates()
+                .withSnapshotDirectory(tempFolder.newFolder("snapshots")
+                        .toPath())
+                .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectSnapshotsWithOverlays() throws Exception {
+        AppConfigr.fromSource(ConfigSources.inMemory())
+                .withSnapshotDirectory(tempFolder.newFolder("snapshots")
+                        .toPath())
+                .withOverlay(ConfigSources.inMemory())
+                .build();
+    }
+
+    @Test
+    public void shouldLookUpFilesInDirectoryIndex() throws Exception {
+        Path directory = tempFolder.getRoot().toPath();
+        Files.write(directory.resolve("sample-config.yaml"), "sampleInt: 5".getBytes(StandardCharsets.UTF_8));
+        AppConfigr cut = AppConfigr.fromDirectory(directory)
+                .withFormatDetection()
+                .withDirectoryIndex()
+                .build();
+        Files.write(directory.resolve("other-config.conf"), "sampleInt: 6".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(cut.getConfig(SampleConfig.class).getSampleInt()).isEqualTo(5);
+        try {
+            cut.getConfig(OtherConfig.class);
+            fail("IllegalArgumentException expected for a file which was added after the index was built.");
+        } catch (IllegalArgumentException e) {
+            assertThat(e).hasMessageContaining("other-config.conf");
+        }
+    }
+
+    @Test
+    public void shouldLoadFilesInSubdirectoriesWithDirectoryIndex() throws Exception {
+        Path subdirectory = tempFolder.newFolder("sub").toPath();
+        Files.write(subdirectory.resolve("x.conf"), "sampleInt: 7".getBytes(StandardCharsets.UTF_8));
+        AppConfigr cut = AppConfigr.fromDirectory(tempFolder.getRoot().toPath())
+                .withDirectoryIndex()
+                .build();
+
+        SampleConfig config = cut.getConfig(SampleConfig.class, "sub/x.conf");
+
+        assertThat(config.getSampleInt()).isEqualTo(7);
+    }
+}
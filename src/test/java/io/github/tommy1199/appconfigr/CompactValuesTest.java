@@ -0,0 +1,40 @@
+package io.github.tommy1199.appconfigr;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class CompactValuesTest {
+
+    @Test
+    public void shouldBindCompactValues() {
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("region-config.conf", "primary: eu-west\n" +
+                        "regions: [eu-west, us-east, eu-west]\n" +
+                        "codes: [eu-west]\n" +
+                        "tags: {home: eu-west}\n" +
+                        "concrete: [eu-west]"))
+                .withCompactValues()
+                .build();
+
+        RegionConfig config = cut.getConfig(RegionConfig.class);
+
+        assertThat(config.regions).containsExactly("eu-west", "us-east", "eu-west");
+        assertThat(config.regions.get(0)).isSameAs(config.primary)
+                .isSameAs(config.regions.get(2))
+                .isSameAs(config.codes.iterator().next())
+                .isSameAs(config.tags.get("home"))
+                .isSameAs(config.concrete.get(0));
+        assertThat(config.concrete).isInstanceOf(ArrayList.class);
+        assertThat(ConfigFootprint.of(config).getDuplicateStrings()).isEqualTo(0);
+        try {
+            config.regions.add("ap-south");
+            fail("UnsupportedOperationException expected for a compact list.");
+        } catch (UnsupportedOperationException e) {
+            assertThat(e).isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+}
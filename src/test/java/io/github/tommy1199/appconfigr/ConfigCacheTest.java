@@ -0,0 +1,70 @@
+package io.github.tommy1199.appconfigr;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigCacheTest {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File sampleConfigsDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        sampleConfigsDirectory = new File(this.getClass()
+                .getResource("/sample-configs")
+                .getFile());
+    }
+
+    @Test
+    public void shouldReturnCachedConfigIfFileIsUnchanged() {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withCaching()
+                .build();
+
+        SampleConfig first = cut.getConfig(SampleConfig.class);
+        SampleConfig second = cut.getConfig(SampleConfig.class);
+
+        assertThat(second).isSameAs(first);
+        assertThat(cut.getCacheStats().hitCount()).isEqualTo(1);
+        assertThat(cut.getCacheStats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReloadCachedConfigIfFileHasChanged() throws Exception {
+        Path file = tempFolder.getRoot().toPath().resolve("sample-config.conf");
+        Files.write(file, "sampleInt: 1".getBytes(StandardCharsets.UTF_8));
+        AppConfigr cut = AppConfigr.fromDirectory(tempFolder.getRoot())
+                .withCaching()
+                .build();
+        cut.getConfig(SampleConfig.class);
+
+        Files.write(file, "sampleInt: 22".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+        SampleConfig config = cut.getConfig(SampleConfig.class);
+
+        assertThat(config.getSampleInt()).isEqualTo(22);
+        assertThat(cut.getCacheStats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotCountRequestsIfCachingIsDisabled() {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .build();
+
+        cut.getConfig(SampleConfig.class);
+
+        assertThat(cut.getCacheStats().requestCount()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.tommy1199.appconfigr;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigDocumentTest {
+
+    @Test
+    public void shouldBindSeveralClassesFromOneParse() {
+        final List<ConfigLoadEvent> events = new ArrayList<>();
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("shared.conf", "first:\n  sampleInt: ${fixed:NUMBER}\n  sampleString: first\n" +
+                        "second:\n  sampleInt: 2\n  sampleString: ${fixed:STRING}"))
+                .withNamespace("fixed", new FixedResolver("1", "second"))
+                .withMetricsListener(new ConfigMetricsListener() {
+                    @Override
+                    public void onLoad(ConfigLoadEvent event) {
+                        events.add(event);
+                    }
+                })
+                .build();
+
+        ConfigDocument document = cut.getDocument("shared.conf");
+        SampleConfig first = document.get(SampleConfig.class, "/first");
+        CustomResolverConfig second = document.get(CustomResolverConfig.class, "/second");
+
+        assertThat(events).hasSize(1);
+        assertThat(first.getSampleInt()).isEqualTo(1);
+        assertThat(first.getSampleString()).isEqualTo("first");
+        assertThat(second.getSampleInt()).isEqualTo(2);
+        assertThat(second.getSampleString()).isEqualTo("second");
+        assertThat(document.getView("/first").getInt("sampleInt")).isEqualTo(1);
+        assertThat(document.contains("/third")).isFalse();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionIfSectionOfDocumentCannotBeFound() {
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("shared.conf", "first:\n  sampleInt: 1"))
+                .build();
+
+        cut.getDocument("shared.conf")
+                .get(SampleConfig.class, "/second");
+    }
+
+    @Test
+    public void shouldReadEachDocumentOfMultiDocumentFile() {
+        String content = "sampleInt: ${fixed:NUMBER}\nsampleString: first\n" +
+                "---\n" +
+                "---\n" +
+                "sampleInt: 2\nsampleString: ${fixed:STRING}\n";
+        for (boolean streaming : new boolean[]{false, true}) {
+            AppConfigr.Builder builder = AppConfigr.fromSource(ConfigSources.inMemory()
+                    .put("documents.conf", content))
+                    .withNamespace("fixed", new FixedResolver("1", "second"));
+            if (streaming) {
+                builder.withStreamingResolution();
+            }
+
+            List<ConfigDocument> documents = builder.build()
+                    .getDocuments("documents.conf");
+
+            assertThat(documents).hasSize(2);
+            assertThat(documents.get(0)
+                    .get(SampleConfig.class)
+                    .getSampleInt()).isEqualTo(1);
+            assertThat(documents.get(1)
+                    .get(SampleConfig.class)
+                    .getSampleString()).isEqualTo("second");
+        }
+    }
+
+    @Test
+    public void shouldReturnDocumentsByKey() {
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("documents.conf", "kind: first\nconfig: {sampleInt: 1}\n" +
+                        "---\n" +
+                        "kind: second\nconfig: {sampleInt: 2}\n"))
+                .build();
+
+        Map<String, ConfigDocument> documents = cut.getDocuments("documents.conf", "/kind");
+
+        assertThat(documents.keySet()).containsExactly("first", "second");
+        assertThat(documents.get("second")
+                .get(SampleConfig.class, "/config")
+                .getSampleInt()).isEqualTo(2);
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void shouldThrowConfigurationExceptionIfDocumentsHaveSameKey() {
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("documents.conf", "kind: first\n---\nkind: first\n"))
+                .build();
+
+        cut.getDocuments("documents.conf", "/kind");
+    }
+}
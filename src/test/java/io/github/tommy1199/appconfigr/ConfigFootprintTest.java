@@ -0,0 +1,65 @@
+package io.github.tommy1199.appconfigr;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigFootprintTest {
+
+    @Test
+    public void shouldCountDuplicateStrings() {
+        Holder holder = new Holder();
+        holder.values = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            holder.values.add(new String("region"));
+        }
+
+        ConfigFootprint footprint = ConfigFootprint.of(holder);
+
+        assertThat(footprint.getStrings()).isEqualTo(10);
+        assertThat(footprint.getDuplicateStrings()).isEqualTo(9);
+        assertThat(footprint.getDuplicateStringBytes()).isGreaterThan(0);
+    }
+
+    @Test
+    public void shouldEstimateCompactValuesSmaller() {
+        Holder plain = new Holder();
+        plain.values = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            plain.values.add(new String("region"));
+        }
+        Holder compact = new Holder();
+        List<String> canonical = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            canonical.add("region");
+        }
+        compact.values = ImmutableList.copyOf(canonical);
+
+        ConfigFootprint plainFootprint = ConfigFootprint.of(plain);
+        ConfigFootprint compactFootprint = ConfigFootprint.of(compact);
+
+        assertThat(compactFootprint.getDuplicateStrings()).isEqualTo(0);
+        assertThat(compactFootprint.getBytes()).isLessThan(plainFootprint.getBytes() -
+                plainFootprint.getDuplicateStringBytes());
+    }
+
+    @Test
+    public void shouldCountSharedObjectsOnce() {
+        Holder holder = new Holder();
+        holder.values = ImmutableList.of("a", "b");
+        holder.same = holder.values;
+
+        ConfigFootprint footprint = ConfigFootprint.of(holder);
+
+        assertThat(footprint.getObjects()).isEqualTo(4);
+    }
+
+    private static class Holder {
+        private List<String> values;
+        private Object same;
+    }
+}
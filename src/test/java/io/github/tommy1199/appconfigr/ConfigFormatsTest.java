@@ -0,0 +1,71 @@
+package io.github.tommy1199.appconfigr;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigFormatsTest {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File sampleConfigsDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        sampleConfigsDirectory = new File(this.getClass()
+                .getResource("/sample-configs")
+                .getFile());
+    }
+
+    @Test
+    public void shouldLoadConfigWithPrecompiledReader() {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withPrecompiledReaders(SampleConfig.class)
+                .build();
+
+        assertThat(cut.getFormats()
+                .getDefault()
+                .hasReader(SampleConfig.class)).isTrue();
+        assertThat(cut.getFormats()
+                .getDefault()
+                .hasReader(OtherConfig.class)).isFalse();
+        SampleConfig config = cut.getConfig(SampleConfig.class);
+
+        assertThat(config.getSampleInt()).isEqualTo(12);
+    }
+
+    @Test
+    public void shouldLoadConfigWithBytecodeBinding() {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withBytecodeBinding()
+                .build();
+
+        SampleConfig config = cut.getConfig(SampleConfig.class);
+
+        assertThat(config.getSampleInt()).isEqualTo(12);
+        assertThat(config.getSampleString()).isEqualTo("this is a string");
+    }
+
+    @Test
+    public void shouldReadEachFileByTheFormatOfItsExtension() throws Exception {
+        Path directory = tempFolder.getRoot().toPath();
+        Files.write(directory.resolve("sample-config.json"), "{\"sampleInt\": 5}".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("other-config.yml"), "sampleInt: 6".getBytes(StandardCharsets.UTF_8));
+        AppConfigr cut = AppConfigr.fromDirectory(directory)
+                .withFormatDetection()
+                .build();
+
+        assertThat(cut.getConfig(SampleConfig.class).getSampleInt()).isEqualTo(5);
+        assertThat(cut.getConfig(OtherConfig.class).getSampleInt()).isEqualTo(6);
+        assertThat(cut.preloadDirectory().get(SampleConfig.class).getSampleInt()).isEqualTo(5);
+    }
+}
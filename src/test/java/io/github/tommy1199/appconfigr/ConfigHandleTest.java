@@ -0,0 +1,206 @@
+package io.github.tommy1199.appconfigr;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigHandleTest {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Path file;
+    private ConfigHandle<SampleConfig> cut;
+
+    @Before
+    public void setUp() throws Exception {
+        file = tempFolder.getRoot()
+                .toPath()
+                .resolve("sample-config.conf");
+        write("sampleInt: 1");
+        cut = AppConfigr.fromDirectory(tempFolder.getRoot())
+                .withWatchDebounce(10, TimeUnit.MILLISECONDS)
+                .build()
+                .watch(SampleConfig.class);
+    }
+
+    @After
+    public void tearDown() {
+        cut.close();
+    }
+
+    @Test
+    public void shouldLoadConfigWhenWatchIsStarted() {
+        assertThat(cut.get()
+                .getSampleInt()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReloadConfigAndNotifyListenersWhenFileChanges() throws Exception {
+        RecordingListener listener = new RecordingListener();
+        cut.addListener(listener);
+
+        write("sampleInt: 2");
+
+        assertThat(listener.changed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(listener.previous.getSampleInt()).isEqualTo(1);
+        assertThat(listener.current.getSampleInt()).isEqualTo(2);
+        assertThat(cut.get()).isSameAs(listener.current);
+    }
+
+    @Test
+    public void shouldKeepLastConfigWhenChangedFileCannotBeLoaded() throws Exception {
+        RecordingListener listener = new RecordingListener();
+        cut.addListener(listener);
+
+        write("sampleInt: [not a number");
+
+        assertThat(listener.failed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(cut.get()
+                .getSampleInt()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotifyOtherListenersIfListenerThrows() throws Exception {
+        try (RecordingLogHandler log = RecordingLogHandler.of(ConfigHandle.class)) {
+            RecordingListener listener = new RecordingListener();
+            cut.addListener(new ConfigChangeListener<SampleConfig>() {
+                @Override
+                public void onChange(SampleConfig previous, SampleConfig current) {
+                    throw new IllegalStateException("listener failed");
+                }
+
+                @Override
+                public void onFailure(Exception cause) {
+                }
+            });
+            cut.addListener(listener);
+
+            write("sampleInt: 2");
+
+            assertThat(listener.changed.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(listener.current.getSampleInt()).isEqualTo(2);
+            assertThat(log.getRecords()).hasSize(1);
+            assertThat(log.getRecords()
+                    .get(0)
+                    .getThrown()).hasMessage("listener failed");
+        }
+    }
+
+    @Test
+    public void shouldReloadOnceAfterDebounceIntervalForBurstOfWrites() throws Exception {
+        final AtomicInteger changes = new AtomicInteger();
+        final CountDownLatch changed = new CountDownLatch(1);
+        ConfigHandle<SampleConfig> handle = AppConfigr.fromDirectory(tempFolder.getRoot())
+                .withWatchDebounce(300, TimeUnit.MILLISECONDS)
+                .build()
+                .watch(SampleConfig.class);
+        try {
+            handle.addListener(new ConfigChangeListener<SampleConfig>() {
+                @Override
+                public void onChange(SampleConfig previous, SampleConfig current) {
+                    changes.incrementAndGet();
+                    changed.countDown();
+                }
+
+                @Override
+                public void onFailure(Exception cause) {
+                    changes.incrementAndGet();
+                }
+            });
+
+            for (int i = 2; i <= 6; i++) {
+                write("sampleInt: " + i);
+            }
+            long lastWrite = System.nanoTime();
+
+            assertThat(changed.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(System.nanoTime() - lastWrite).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(300));
+            Thread.sleep(600);
+            assertThat(changes.get()).isEqualTo(1);
+            assertThat(handle.get()
+                    .getSampleInt()).isEqualTo(6);
+        } finally {
+            handle.close();
+        }
+    }
+
+    @Test
+    public void shouldReloadChangedFileWhileOtherFileIsWrittenConstantly() throws Exception {
+        final Path other = tempFolder.getRoot()
+                .toPath()
+                .resolve("other-config.conf");
+        Files.write(other, "sampleInt: 1".getBytes(StandardCharsets.UTF_8));
+        AppConfigr configr = AppConfigr.fromDirectory(tempFolder.getRoot())
+                .withWatchDebounce(200, TimeUnit.MILLISECONDS)
+                .build();
+        ConfigHandle<SampleConfig> busy = configr.watch(SampleConfig.class);
+        ConfigHandle<SampleConfig> quiet = configr.watch(SampleConfig.class, "other-config.conf");
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 2; writing.get(); i++) {
+                    try {
+                        write("sampleInt: " + i);
+                        Thread.sleep(20);
+                    } catch (Exception e) {
+                        return;
+                    }
+                }
+            }
+        });
+        try {
+            RecordingListener listener = new RecordingListener();
+            quiet.addListener(listener);
+            writer.start();
+            Thread.sleep(100);
+
+            Files.write(other, "sampleInt: 2".getBytes(StandardCharsets.UTF_8));
+
+            assertThat(listener.changed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(writer.isAlive()).isTrue();
+            assertThat(listener.current.getSampleInt()).isEqualTo(2);
+        } finally {
+            writing.set(false);
+            writer.join();
+            busy.close();
+            quiet.close();
+        }
+    }
+
+    private void write(String content) throws Exception {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class RecordingListener implements ConfigChangeListener<SampleConfig> {
+        private final CountDownLatch changed = new CountDownLatch(1);
+        private final CountDownLatch failed = new CountDownLatch(1);
+        private volatile SampleConfig previous;
+        private volatile SampleConfig current;
+
+        @Override
+        public void onChange(SampleConfig previous, SampleConfig current) {
+            this.previous = previous;
+            this.current = current;
+            changed.countDown();
+        }
+
+        @Override
+        public void onFailure(Exception cause) {
+            failed.countDown();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigLayersTest {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Rule
+    public final RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+    private final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+
+    @Test
+    public void shouldMergeObjectsAndReplaceOtherValues() throws Exception {
+        JsonNode target = mapper.readTree("server: {host: localhost, port: 80}\nlist: [1, 2]");
+        JsonNode overlay = mapper.readTree("server: {port: 8080}\nlist: [3]");
+
+        JsonNode merged = ConfigLayers.merge(target, overlay);
+
+        assertThat(merged.at("/server/host").asText()).isEqualTo("localhost");
+        assertThat(merged.at("/server/port").asInt()).isEqualTo(8080);
+        assertThat(merged.get("list")).hasSize(1);
+    }
+
+    @Test
+    public void shouldShareParsedLayerWhileFileIsUnchanged() throws Exception {
+        Path file = tempFolder.newFile("layer.conf").toPath();
+        Files.write(file, "sampleInt: 1".getBytes(StandardCharsets.UTF_8));
+
+        JsonNode first = ConfigLayers.parse(ConfigSources.directory(tempFolder.getRoot().toPath()), "layer.conf", mapper);
+        JsonNode second = ConfigLayers.parse(ConfigSources.directory(tempFolder.getRoot().toPath()), "layer.conf",
+                new ObjectMapper(new YAMLFactory()));
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void shouldShareParsedLayerBetweenInstances() throws Exception {
+        Files.write(tempFolder.newFile("layer.conf").toPath(), "sampleInt: 1".getBytes(StandardCharsets.UTF_8));
+        Path overlay = tempFolder.newFolder("overlay").toPath();
+        Files.write(overlay.resolve("layer.conf"), "sampleString: overlay".getBytes(StandardCharsets.UTF_8));
+        ConfigSource source = ConfigSources.directory(tempFolder.getRoot().toPath());
+        new ConfigLayers(Collections.singletonList(ConfigSources.directory(overlay)), null).load(source,
+                "layer.conf", mapper, VariableResolver.fromMap(Collections.<String, String>emptyMap()));
+
+        JsonNode parsed = ConfigLayers.parse(ConfigSources.directory(overlay), "layer.conf",
+                new ObjectMapper(new YAMLFactory()));
+
+        assertThat(parsed).isSameAs(ConfigLayers.parse(ConfigSources.directory(overlay), "layer.conf", mapper));
+    }
+
+    @Test
+    public void shouldApplyChangedSystemPropertyOverlay() throws Exception {
+        Files.write(tempFolder.newFile("layer.conf").toPath(), "sampleInt: 1".getBytes(StandardCharsets.UTF_8));
+        ConfigSource source = ConfigSources.directory(tempFolder.getRoot().toPath());
+        VariableResolver resolver = VariableResolver.fromMap(Collections.<String, String>emptyMap());
+        System.setProperty("appconfigr.layer.sampleInt", "2");
+        new ConfigLayers(Collections.<ConfigSource>emptyList(), "appconfigr.").load(source, "layer.conf", mapper,
+                resolver);
+
+        System.setProperty("appconfigr.layer.sampleInt", "3");
+        JsonNode merged = new ConfigLayers(Collections.<ConfigSource>emptyList(), "appconfigr.").load(source,
+                "layer.conf", mapper, resolver);
+
+        assertThat(merged.get("sampleInt").asText()).isEqualTo("3");
+    }
+
+    @Test
+    public void shouldChangeStampsIfSystemPropertyOverlayChanges() throws Exception {
+        Files.write(tempFolder.newFile("layer.conf").toPath(), "sampleInt: 1".getBytes(StandardCharsets.UTF_8));
+        ConfigSource source = ConfigSources.directory(tempFolder.getRoot().toPath());
+        ConfigLayers layers = new ConfigLayers(Collections.<ConfigSource>emptyList(), "appconfigr.");
+        System.setProperty("appconfigr.layer.sampleInt", "2");
+        List<Object> before = layers.changeStamps(source, "layer.conf");
+
+        System.setProperty("appconfigr.layer.sampleInt", "3");
+
+        assertThat(layers.changeStamps(source, "layer.conf")).isNotEqualTo(before);
+    }
+
+    @Test
+    public void shouldParseLayerAgainIfFileChanges() throws Exception {
+        Path file = tempFolder.newFile("layer.conf").toPath();
+        Files.write(file, "sampleInt: 1".getBytes(StandardCharsets.UTF_8));
+        ConfigSource source = ConfigSources.directory(tempFolder.getRoot().toPath());
+        ConfigLayers.parse(source, "layer.conf", mapper);
+
+        Files.write(file, "sampleInt: 2".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+
+        assertThat(ConfigLayers.parse(source, "layer.conf", mapper).get("sampleInt").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldMergeOverlayDirectoriesInOrder() throws Exception {
+        Path base = tempFolder.newFolder("base").toPath();
+        Path environment = tempFolder.newFolder("environment").toPath();
+        Path host = tempFolder.newFolder("host").toPath();
+        Files.write(base.resolve("sample-config.conf"), "sampleInt: 1\nsampleString: ${STRING}"
+                .getBytes(StandardCharsets.UTF_8));
+        Files.write(environment.resolve("sample-config.conf"), "sampleInt: 2\nsampleString: environment"
+                .getBytes(StandardCharsets.UTF_8));
+        Files.write(host.resolve("sample-config.conf"), "sampleInt: ${NUMBER}".getBytes(StandardCharsets.UTF_8));
+        AppConfigr cut = AppConfigr.fromDirectory(base)
+                .withResolvingStrategy(new FixedResolver("3", "YIPPIE"))
+                .withOverlayDirectory(environment)
+                .withOverlayDirectory(host)
+                .build();
+
+        SampleConfig config = cut.getConfig(SampleConfig.class);
+
+        assertThat(config.getSampleInt()).isEqualTo(3);
+        assertThat(config.getSampleString()).isEqualTo("environment");
+    }
+
+    @Test
+    public void shouldOverrideValuesBySystemPropertyOverlay() throws Exception {
+        Path base = tempFolder.newFolder("base").toPath();
+        Files.write(base.resolve("sample-config.conf"), "sampleInt: 1\nsampleString: base"
+                .getBytes(StandardCharsets.UTF_8));
+        System.setProperty("appconfigr.sample-config.sampleInt", "42");
+        AppConfigr cut = AppConfigr.fromDirectory(base)
+                .withSystemPropertyOverlay("appconfigr.")
+                .build();
+
+        SampleConfig config = cut.getConfig(SampleConfig.class);
+
+        assertThat(config.getSampleInt()).isEqualTo(42);
+        assertThat(config.getSampleString()).isEqualTo("base");
+    }
+
+    @Test
+    public void shouldReloadCachedConfigIfOverlayChanges() throws Exception {
+        Path base = tempFolder.newFolder("base").toPath();
+        Path overlay = tempFolder.newFolder("overlay").toPath();
+        Files.write(base.resolve("sample-config.conf"), "sampleInt: 1".getBytes(StandardCharsets.UTF_8));
+        AppConfigr cut = AppConfigr.fromDirectory(base)
+                .withOverlayDirectory(overlay)
+                .withCaching()
+                .build();
+        cut.getConfig(SampleConfig.class);
+
+        Files.write(overlay.resolve("sample-config.conf"), "sampleInt: 2".getBytes(StandardCharsets.UTF_8));
+        SampleConfig config = cut.getConfig(SampleConfig.class);
+
+        assertThat(config.getSampleInt()).isEqualTo(2);
+        assertThat(cut.getCacheStats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldReloadCachedConfigIfSystemPropertyOverlayChanges() throws Exception {
+        Path base = tempFolder.newFolder("base").toPath();
+        Files.write(base.resolve("sample-config.conf"), "sampleInt: 1".getBytes(StandardCharsets.UTF_8));
+        System.setProperty("appconfigr.sample-config.sampleInt", "2");
+        AppConfigr cut = AppConfigr.fromDirectory(base)
+                .withSystemPropertyOverlay("appconfigr.")
+                .withCaching()
+                .build();
+        cut.getConfig(SampleConfig.class);
+
+        System.setProperty("appconfigr.sample-config.sampleInt", "3");
+        SampleConfig config = cut.getConfig(SampleConfig.class);
+
+        assertThat(config.getSampleInt()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldReportLayeredLoadsToListener() {
+        final List<ConfigLoadEvent> events = new ArrayList<>();
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("sample-config.conf", "sampleInt: 1\nsampleString: ${LAYERED_STRING:-none}"))
+                .withOverlay(ConfigSources.inMemory()
+                        .put("sample-config.conf", "sampleInt: 2"))
+                .withMetricsListener(new ConfigMetricsListener() {
+                    @Override
+                    public void onLoad(ConfigLoadEvent event) {
+                        events.add(event);
+                    }
+                })
+                .build();
+
+        SampleConfig config = cut.getConfig(SampleConfig.class);
+        cut.getView("sample-config.conf");
+
+        assertThat(config.getSampleInt()).isEqualTo(2);
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0)
+                .getVariableCount()).isEqualTo(1);
+        assertThat(events.get(0)
+                .getFailure()).isNull();
+    }
+
+    @Test
+    public void shouldReportBytesOfAllLayersReadByLayeredLoad() {
+        String base = "sampleInt: 1\nsampleString: base";
+        String overlay = "sampleInt: 2";
+        final List<ConfigLoadEvent> events = new ArrayList<>();
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("sample-config.conf", base))
+                .withOverlay(ConfigSources.inMemory()
+                        .put("sample-config.conf", overlay))
+                .withMetricsListener(new ConfigMetricsListener() {
+                    @Override
+                    public void onLoad(ConfigLoadEvent event) {
+                        events.add(event);
+                    }
+                })
+                .build();
+
+        cut.getConfig(SampleConfig.class);
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0)
+                .getBytesRead()).isEqualTo(base.length() + overlay.length());
+    }
+}
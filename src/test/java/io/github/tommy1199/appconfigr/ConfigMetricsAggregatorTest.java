@@ -0,0 +1,57 @@
+package io.github.tommy1199.appconfigr;
+
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigMetricsAggregatorTest {
+
+    @Test
+    public void shouldReturnZeroIfNoLoadWasRecorded() {
+        ConfigMetricsAggregator cut = new ConfigMetricsAggregator();
+
+        assertThat(cut.percentile(ConfigMetricsAggregator.Phase.TOTAL, 99)).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldCalculatePercentilesOfRecordedLoads() {
+        ConfigMetricsAggregator cut = new ConfigMetricsAggregator();
+        for (int i = 1; i <= 100; i++) {
+            cut.onLoad(event(i, null));
+        }
+
+        assertThat(cut.percentile(ConfigMetricsAggregator.Phase.BIND, 50)).isEqualTo(50);
+        assertThat(cut.percentile(ConfigMetricsAggregator.Phase.BIND, 99)).isEqualTo(99);
+        assertThat(cut.percentile(ConfigMetricsAggregator.Phase.TOTAL, 100)).isEqualTo(100 + 2);
+    }
+
+    @Test
+    public void shouldOnlyKeepTheMostRecentLoadsInWindow() {
+        ConfigMetricsAggregator cut = new ConfigMetricsAggregator(10);
+        for (int i = 1; i <= 100; i++) {
+            cut.onLoad(event(i, null));
+        }
+
+        assertThat(cut.percentile(ConfigMetricsAggregator.Phase.BIND, 0)).isEqualTo(91);
+        assertThat(cut.getLoadCount()).isEqualTo(100);
+    }
+
+    @Test
+    public void shouldCountFailures() {
+        ConfigMetricsAggregator cut = new ConfigMetricsAggregator();
+
+        cut.onLoad(event(1, null));
+        cut.onLoad(event(1, new IllegalStateException()));
+
+        assertThat(cut.getFailureCount()).isEqualTo(1);
+        assertThat(cut.getBytesRead()).isEqualTo(20);
+    }
+
+    private ConfigLoadEvent event(long bindNanos, Exception failure) {
+        return new ConfigLoadEvent(Paths.get("test.conf"), 10, 1, 1, bindNanos, 0,
+                Collections.<ConfigLoadEvent.ResolverStats>emptyList(), failure);
+    }
+}
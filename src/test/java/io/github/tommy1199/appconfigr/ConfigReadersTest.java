@@ -0,0 +1,165 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class ConfigReadersTest {
+
+    private static final String CONTENT = "count: '12'\n" +
+            "enabled: true\n" +
+            "optional: null\n" +
+            "tags: [a, b]\n" +
+            "limits:\n" +
+            "  max: 100\n" +
+            "  ratio: 0.5\n" +
+            "display-name: Display\n" +
+            "secret: ignored\n" +
+            "name: Name\n";
+
+    private final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+
+    private final JsonFactory factory = mapper.getFactory();
+
+    @Test
+    public void shouldFindGeneratedReaderOfAnnotatedClass() {
+        ConfigReader<ReaderConfig> reader = GeneratedReaders.of(ReaderConfig.class);
+
+        assertThat(reader).isNotNull();
+        assertThat(reader.fileName()).isEqualTo("reader-config.conf");
+        assertThat(GeneratedReaders.of(ReaderConfig.Limits.class)).isNotNull();
+        assertThat(GeneratedReaders.of(SampleConfig.class)).isNull();
+    }
+
+    @Test
+    public void shouldNotGenerateReaderForPropertiesItCannotBindLikeJackson() {
+        assertThat(GeneratedReaders.of(ReaderConfig.Hidden.class)).isNull();
+        assertThat(GeneratedReaders.of(ReaderConfig.SetterOnly.class)).isNull();
+    }
+
+    @Test
+    public void shouldReadAllFieldsWithGeneratedReader() throws IOException {
+        ReaderConfig config = read(CONTENT);
+
+        assertThat(config.count).isEqualTo(12);
+        assertThat(config.enabled).isTrue();
+        assertThat(config.optional).isNull();
+        assertThat(config.tags).containsExactly("a", "b");
+        assertThat(config.limits.max).isEqualTo(100);
+        assertThat(config.limits.ratio).isEqualTo(0.5);
+        assertThat(config.displayName).isEqualTo("Display");
+        assertThat(config.secret).isNull();
+        assertThat(config.getName()).isEqualTo("Name");
+    }
+
+    @Test
+    public void shouldBindLikeJackson() throws IOException {
+        ReaderConfig expected = mapper.readValue(CONTENT, ReaderConfig.class);
+
+        ReaderConfig config = read(CONTENT);
+
+        assertThat(config).isEqualToIgnoringGivenFields(expected, "limits");
+        assertThat(config.limits).isEqualToComparingFieldByField(expected.limits);
+    }
+
+    @Test
+    public void shouldCoerceNumbersLikeJackson() throws IOException {
+        assertBindsLikeJackson("count: ''");
+        assertBindsLikeJackson("count: ' 12 '");
+        assertBindsLikeJackson("count: 1.9");
+        assertBindsLikeJackson("count: null");
+        assertBindsLikeJackson("optional: ''");
+        assertBindsLikeJackson("optional: '7'");
+        assertBindsLikeJackson("limits: {max: '', ratio: '0.25', weight: '0.1'}");
+        assertBindsLikeJackson("limits: {max: 3.5, ratio: 2, weight: 1e-3}");
+        assertBindsLikeJackson("count: many");
+    }
+
+    @Test
+    public void shouldCoerceBooleansLikeJackson() throws IOException {
+        assertBindsLikeJackson("enabled: 1");
+        assertBindsLikeJackson("enabled: 0");
+        assertBindsLikeJackson("enabled: 'True'");
+        assertBindsLikeJackson("enabled: 'false'");
+        assertBindsLikeJackson("enabled: ''");
+        assertBindsLikeJackson("enabled: null");
+        assertBindsLikeJackson("active: 1");
+        assertBindsLikeJackson("active: ''");
+        assertBindsLikeJackson("enabled: 'maybe'");
+    }
+
+    @Test
+    public void shouldFailOnUnknownFields() throws IOException {
+        try {
+            read("unknown: 1");
+            fail("JsonMappingException expected for an unknown field.");
+        } catch (JsonMappingException e) {
+            assertThat(e).hasMessageContaining("unknown");
+        }
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void shouldFailOnValuesOfWrongType() throws IOException {
+        read("count: many");
+    }
+
+    /**
+     * Binds the given content with the generated reader and with Jackson and asserts that both give the same
+     * configuration or both fail.
+     */
+    private void assertBindsLikeJackson(String content) throws IOException {
+        ReaderConfig expected;
+        try {
+            expected = mapper.readValue(content, ReaderConfig.class);
+        } catch (JsonMappingException e) {
+            try {
+                read(content);
+                fail("JsonMappingException expected like from Jackson for [" + content + "]");
+            } catch (JsonMappingException readerException) {
+                return;
+            }
+            return;
+        }
+
+        ReaderConfig config = read(content);
+
+        assertThat(config).as(content)
+                .isEqualToIgnoringGivenFields(expected, "limits");
+        if (expected.limits == null) {
+            assertThat(config.limits).as(content)
+                    .isNull();
+        } else {
+            assertThat(config.limits).as(content)
+                    .isEqualToComparingFieldByField(expected.limits);
+        }
+    }
+
+    @Test
+    public void shouldBindAnnotatedConfigWithGeneratedReader() {
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("reader-config.conf", "count: ${NUMBER}\nname: ${STRING}"))
+                .withResolvingStrategy(new FixedResolver("4", "generated"))
+                .withStreamingResolution()
+                .build();
+
+        ReaderConfig config = cut.getConfig(ReaderConfig.class);
+
+        assertThat(config.count).isEqualTo(4);
+        assertThat(config.getName()).isEqualTo("generated");
+    }
+
+    private ReaderConfig read(String content) throws IOException {
+        try (JsonParser parser = factory.createParser(content)) {
+            return GeneratedReaders.of(ReaderConfig.class)
+                    .read(parser);
+        }
+    }
+}
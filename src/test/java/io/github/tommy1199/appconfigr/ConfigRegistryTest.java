@@ -0,0 +1,85 @@
+package io.github.tommy1199.appconfigr;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class ConfigRegistryTest {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File sampleConfigsDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        sampleConfigsDirectory = new File(this.getClass()
+                .getResource("/sample-configs")
+                .getFile());
+    }
+
+    @Test
+    public void shouldPreloadConfigsInParallel() {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .build();
+
+        ConfigRegistry registry = cut.preload(Collections.singletonList(SampleConfig.class));
+
+        assertThat(registry.get(SampleConfig.class).getSampleInt()).isEqualTo(12);
+    }
+
+    @Test
+    public void shouldAggregateAllFailuresWhenPreloading() {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .build();
+
+        try {
+            cut.preload(Arrays.asList(SampleConfig.class, String.class, Integer.class));
+            fail("ConfigurationException expected when preloading classes without configuration files.");
+        } catch (ConfigurationException e) {
+            assertThat(e.getSuppressed()).hasSize(2);
+        }
+    }
+
+    @Test
+    public void shouldReportFileNameIfPreloadedConfigIsNull() {
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("sample-config.conf", "~"))
+                .build();
+
+        try {
+            cut.preload(Collections.singletonList(SampleConfig.class));
+            fail("ConfigurationException expected when preloading a file without configuration.");
+        } catch (ConfigurationException e) {
+            assertThat(e.getSuppressed()).hasSize(1);
+            assertThat(e.getSuppressed()[0].getCause()).hasMessageContaining("sample-config.conf");
+        }
+    }
+
+    @Test
+    public void shouldPreloadAllFilesOfDirectory() throws Exception {
+        Path directory = tempFolder.getRoot().toPath();
+        Files.write(directory.resolve("sample-config.conf"), "sampleInt: 1".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("other.conf"), "sampleInt: ${NUMBER}".getBytes(StandardCharsets.UTF_8));
+        AppConfigr cut = AppConfigr.fromDirectory(tempFolder.getRoot())
+                .withResolvingStrategy(new FixedResolver("2", ""))
+                .build();
+
+        ConfigRegistry registry = cut.preloadDirectory();
+
+        assertThat(registry.getFileNames()).containsOnly("sample-config.conf", "other.conf");
+        assertThat(registry.get(SampleConfig.class).getSampleInt()).isEqualTo(1);
+        assertThat(registry.get(SampleConfig.class, "other.conf").getSampleInt()).isEqualTo(2);
+    }
+}
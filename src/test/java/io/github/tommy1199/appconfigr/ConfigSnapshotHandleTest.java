@@ -0,0 +1,60 @@
+package io.github.tommy1199.appconfigr;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class ConfigSnapshotHandleTest {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldPublishNewGenerationOnRefresh() throws Exception {
+        Path directory = tempFolder.getRoot().toPath();
+        Path file = directory.resolve("sample-config.conf");
+        Files.write(file, "sampleInt: 1".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("other-config.conf"), "sampleInt: 2".getBytes(StandardCharsets.UTF_8));
+        ConfigSnapshotHandle handle = AppConfigr.fromDirectory(directory)
+                .build()
+                .snapshotOf(Arrays.asList(SampleConfig.class, OtherConfig.class));
+        ConfigSnapshot first = handle.get();
+
+        Files.write(file, "sampleInt: 11".getBytes(StandardCharsets.UTF_8));
+        ConfigSnapshot second = handle.refresh();
+
+        assertThat(first.getGeneration()).isEqualTo(1);
+        assertThat(first.get(SampleConfig.class).getSampleInt()).isEqualTo(1);
+        assertThat(second.getGeneration()).isEqualTo(2);
+        assertThat(second.get(SampleConfig.class).getSampleInt()).isEqualTo(11);
+        assertThat(second.get(OtherConfig.class).getSampleInt()).isEqualTo(2);
+        assertThat(handle.get()).isSameAs(second);
+    }
+
+    @Test
+    public void shouldKeepPreviousGenerationIfRefreshFails() throws Exception {
+        Path file = tempFolder.getRoot().toPath().resolve("sample-config.conf");
+        Files.write(file, "sampleInt: 1".getBytes(StandardCharsets.UTF_8));
+        ConfigSnapshotHandle handle = AppConfigr.fromDirectory(tempFolder.getRoot())
+                .build()
+                .snapshotOf(Collections.singleton(SampleConfig.class));
+
+        Files.write(file, "sampleInt: [".getBytes(StandardCharsets.UTF_8));
+        try {
+            handle.refresh();
+            fail("ConfigurationException expected when refreshing with a broken file.");
+        } catch (ConfigurationException e) {
+            assertThat(handle.get().getGeneration()).isEqualTo(1);
+            assertThat(handle.get().get(SampleConfig.class).getSampleInt()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.tommy1199.appconfigr;
+
+import com.google.common.io.ByteStreams;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigSourcesTest {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldListFilesOfDirectory() throws Exception {
+        Path directory = tempFolder.getRoot().toPath();
+        Files.write(directory.resolve("first.conf"), "a: 1".getBytes(StandardCharsets.UTF_8));
+        Files.createDirectory(directory.resolve("nested"));
+
+        ConfigSource cut = ConfigSources.directory(directory);
+
+        assertThat(cut.names()).containsOnly("first.conf");
+        assertThat(cut.exists("first.conf")).isTrue();
+        assertThat(cut.exists("nested")).isFalse();
+        assertThat(cut.changeStamp("first.conf")).isEqualTo(cut.changeStamp("first.conf"));
+    }
+
+    @Test
+    public void shouldReadResourcesFromClasspath() throws Exception {
+        ConfigSource cut = ConfigSources.classpath("sample-configs");
+
+        assertThat(cut.exists("sample-config.conf")).isTrue();
+        assertThat(read(cut, "sample-config.conf")).contains("sampleInt");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExIfClasspathDirectoryIsMissing() {
+        ConfigSources.classpath("missing-configs");
+    }
+
+    @Test
+    public void shouldReadEntriesOfZipFileWithoutExtracting() throws Exception {
+        Path zipFile = tempFolder.getRoot().toPath().resolve("configs.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(zipFile))) {
+            zip.putNextEntry(new ZipEntry("config/first.conf"));
+            zip.write("a: 1".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        ConfigSource cut = ConfigSources.zip(zipFile, "/config");
+
+        assertThat(cut.names()).containsOnly("first.conf");
+        assertThat(read(cut, "first.conf")).isEqualTo("a: 1");
+    }
+
+    @Test
+    public void shouldChangeStampOfInMemoryEntryOnUpdate() throws Exception {
+        InMemoryConfigSource cut = ConfigSources.inMemory()
+                .put("first.conf", "a: 1");
+        Object stamp = cut.changeStamp("first.conf");
+
+        cut.put("first.conf", "a: 2");
+
+        assertThat(cut.changeStamp("first.conf")).isNotEqualTo(stamp);
+        assertThat(read(cut, "first.conf")).isEqualTo("a: 2");
+    }
+
+    @Test(expected = NoSuchFileException.class)
+    public void shouldThrowNoSuchFileExIfInMemoryEntryIsMissing() throws Exception {
+        ConfigSources.inMemory()
+                .open("missing.conf");
+    }
+
+    private String read(ConfigSource source, String name) throws Exception {
+        try (InputStream input = source.open(name)) {
+            return new String(ByteStreams.toByteArray(input), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void shouldLoadConfigFromSource() {
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.classpath("sample-configs"))
+                .build();
+
+        SampleConfig config = cut.getConfig(SampleConfig.class);
+
+        assertThat(config.getSampleInt()).isEqualTo(12);
+    }
+
+    @Test
+    public void shouldReloadCachedConfigIfChangeStampOfSourceChanges() {
+        InMemoryConfigSource source = ConfigSources.inMemory()
+                .put("sample-config.conf", "sampleInt: 1");
+        AppConfigr cut = AppConfigr.fromSource(source)
+                .withCaching()
+                .build();
+        cut.getConfig(SampleConfig.class);
+        cut.getConfig(SampleConfig.class);
+
+        source.put("sample-config.conf", "sampleInt: 2");
+        SampleConfig config = cut.getConfig(SampleConfig.class);
+
+        assertThat(config.getSampleInt()).isEqualTo(2);
+        assertThat(cut.getCacheStats().hitCount()).isEqualTo(1);
+        assertThat(cut.getCacheStats().missCount()).isEqualTo(2);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldThrowUnsupportedOperationExIfWatchedSourceIsNoDirectory() {
+        AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("sample-config.conf", "sampleInt: 1"))
+                .build()
+                .watch(SampleConfig.class);
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.tommy1199.appconfigr;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigTemplateTest {
+
+    private final VariableResolver resolver = new VariableResolver() {
+        @Override
+        Result resolve(String variableName) {
+            return "host".equals(variableName) ? Result.some("example.org") : Result.none("unknown");
+        }
+    };
+
+    @Test
+    public void shouldRenderLiteralsAndResolvedSlots() {
+        ConfigTemplate template = ConfigTemplate.compile("url: http://${host}:${port:-80}/${host}\nplain: ${}");
+
+        String rendered = template.render(template.resolve(resolver));
+
+        assertThat(rendered).isEqualTo("url: http://example.org:80/example.org\nplain: ${}");
+        assertThat(template.getVariableNames()).containsExactly("host", "port");
+    }
+
+    @Test
+    public void shouldRenderContentWithoutVariablesUnchanged() {
+        ConfigTemplate template = ConfigTemplate.compile("key: value");
+
+        assertThat(template.render(template.resolve(resolver))).isEqualTo("key: value");
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void shouldThrowConfigurationExIfSlotWithoutDefaultCannotBeResolved() {
+        ConfigTemplate.compile("port: ${port}")
+                .resolve(resolver);
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class ConfigViewTest {
+
+    private ConfigView cut;
+
+    private File sampleConfigsDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        sampleConfigsDirectory = new File(this.getClass()
+                .getResource("/sample-configs")
+                .getFile());
+        cut = ConfigView.of(new ObjectMapper(new YAMLFactory()).readTree("" +
+                "limits:\n" +
+                "  maxConnections: 200\n" +
+                "  timeout: 2.5\n" +
+                "  total: 10000000000\n" +
+                "enabled: true\n" +
+                "name: service\n" +
+                "port: '8080'\n" +
+                "servers:\n" +
+                "  - host: first\n" +
+                "  - host: second\n" +
+                "missing: null\n"));
+    }
+
+    @Test
+    public void shouldLookUpValuesByDottedPath() {
+        assertThat(cut.getInt("limits.maxConnections")).isEqualTo(200);
+        assertThat(cut.getLong("limits.total")).isEqualTo(10000000000L);
+        assertThat(cut.getDouble("limits.timeout")).isEqualTo(2.5);
+        assertThat(cut.getDouble("limits.maxConnections")).isEqualTo(200.0);
+        assertThat(cut.getBoolean("enabled")).isTrue();
+        assertThat(cut.getString("name")).isEqualTo("service");
+        assertThat(cut.getString("limits.maxConnections")).isEqualTo("200");
+        assertThat(cut.getString("servers.1.host")).isEqualTo("second");
+        assertThat(cut.getString("missing")).isNull();
+    }
+
+    @Test
+    public void shouldParseNumbersGivenAsString() {
+        assertThat(cut.getInt("port")).isEqualTo(8080);
+    }
+
+    @Test
+    public void shouldReadStringsAsNumbersAndBooleansButKeepTheirText() throws Exception {
+        ConfigView view = ConfigView.of(new ObjectMapper(new YAMLFactory()).readTree("" +
+                "port: '08080'\n" +
+                "ratio: '0.75'\n" +
+                "enabled: 'true'\n" +
+                "version: '1.2.3'\n"));
+
+        assertThat(view.getInt("port")).isEqualTo(8080);
+        assertThat(view.getDouble("port")).isEqualTo(8080.0);
+        assertThat(view.getString("port")).isEqualTo("08080");
+        assertThat(view.getDouble("ratio")).isEqualTo(0.75);
+        assertThat(view.getString("ratio")).isEqualTo("0.75");
+        assertThat(view.getBoolean("enabled")).isTrue();
+        assertThat(view.getString("enabled")).isEqualTo("true");
+        assertThat(view.getString("version")).isEqualTo("1.2.3");
+    }
+
+    @Test
+    public void shouldIgnoreWhitespaceAroundNumbersGivenAsString() throws Exception {
+        ConfigView view = ConfigView.of(new ObjectMapper(new YAMLFactory()).readTree("" +
+                "count: ' 5'\n" +
+                "ratio: '0.5 '\n"));
+
+        assertThat(view.getInt("count")).isEqualTo(5);
+        assertThat(view.getString("count")).isEqualTo(" 5");
+        assertThat(view.getDouble("ratio")).isEqualTo(0.5);
+    }
+
+    @Test
+    public void shouldKeepSpecialDoubleValuesGivenAsStringAsText() throws Exception {
+        ConfigView view = ConfigView.of(new ObjectMapper(new YAMLFactory()).readTree("" +
+                "name: NaN\n" +
+                "limit: Infinity\n" +
+                "suffixed: 5d\n"));
+
+        assertThat(view.getString("name")).isEqualTo("NaN");
+        assertThat(view.getString("limit")).isEqualTo("Infinity");
+        assertThat(view.getString("suffixed")).isEqualTo("5d");
+        try {
+            view.getDouble("name");
+            fail("IllegalArgumentException expected for a text which is no decimal number.");
+        } catch (IllegalArgumentException e) {
+            assertThat(e).hasMessageContaining("[name]");
+        }
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void shouldThrowConfigurationExceptionIfKeyWithDotCollidesWithNestedKey() throws Exception {
+        ConfigView.of(new ObjectMapper(new YAMLFactory()).readTree("" +
+                "limits.max: 1\n" +
+                "limits:\n" +
+                "  max: 2\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExIfStringIsNoNumber() throws Exception {
+        ConfigView.of(new ObjectMapper(new YAMLFactory()).readTree("version: '1.2.3'\n"))
+                .getDouble("version");
+    }
+
+    @Test
+    public void shouldReturnDefaultIfPathIsMissing() {
+        assertThat(cut.contains("limits.unknown")).isFalse();
+        assertThat(cut.getInt("limits.unknown", 5)).isEqualTo(5);
+        assertThat(cut.getString("limits.unknown", "none")).isEqualTo("none");
+    }
+
+    @Test
+    public void shouldContainAllLeaves() {
+        assertThat(cut.size()).isEqualTo(9);
+        assertThat(cut.getPaths()).contains("limits.timeout", "servers.0.host");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExIfValueDoesNotFitIntoInt() {
+        cut.getInt("limits.total");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExIfValueIsNoNumber() {
+        cut.getInt("name");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExIfPathIsMissing() {
+        cut.getString("limits.unknown");
+    }
+
+    @Test
+    public void shouldLookUpValuesOfViewWithResolvedVariables() {
+        AppConfigr configr = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .build();
+
+        ConfigView view = configr.getView("custom-resolver.conf");
+
+        assertThat(view.getInt("sampleInt")).isEqualTo(100);
+        assertThat(view.getString("sampleString")).isEqualTo("YIPPIE");
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.tommy1199.appconfigr;
+
+public interface CustomResolverConfig {
+    int getSampleInt();
+
+    String getSampleString();
+}
@@ -0,0 +1,132 @@
+package io.github.tommy1199.appconfigr;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class DefaultExecutorsTest {
+
+    private File sampleConfigsDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        sampleConfigsDirectory = new File(this.getClass()
+                .getResource("/sample-configs")
+                .getFile());
+    }
+
+    @Test
+    public void shouldLoadConfigAsynchronously() throws Exception {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new VariableResolver() {
+                    @Override
+                    Result resolve(String variableName) {
+                        return Result.none("only resolvable asynchronously");
+                    }
+
+                    @Override
+                    protected CompletableFuture<Result> resolveAsync(String variableName) {
+                        return CompletableFuture.supplyAsync(() -> Result.some(variableName.equals("NUMBER") ?
+                                "100" : "YIPPIE"));
+                    }
+                })
+                .build();
+
+        SampleConfig config = cut.getConfigAsync(SampleConfig.class, "custom-resolver.conf")
+                .get(10, TimeUnit.SECONDS);
+
+        assertThat(config.getSampleInt()).isEqualTo(100);
+        assertThat(config.getSampleString()).isEqualTo("YIPPIE");
+    }
+
+    @Test
+    public void shouldReadFileOnlyOnceForAsyncLoad() throws Exception {
+        final InMemoryConfigSource delegate = ConfigSources.inMemory()
+                .put("sample-config.conf", "sampleInt: ${NUMBER}\nsampleString: ${STRING}");
+        final AtomicInteger opened = new AtomicInteger();
+        AppConfigr cut = AppConfigr.fromSource(new DelegatingConfigSource(delegate) {
+            @Override
+            public InputStream open(String name) throws IOException {
+                opened.incrementAndGet();
+                return super.open(name);
+            }
+        })
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .build();
+
+        SampleConfig config = cut.getConfigAsync(SampleConfig.class)
+                .get(10, TimeUnit.SECONDS);
+
+        assertThat(config.getSampleInt()).isEqualTo(100);
+        assertThat(opened.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotCacheContentReadBeforeChangeOfAsyncLoad() throws Exception {
+        final InMemoryConfigSource delegate = ConfigSources.inMemory()
+                .put("sample-config.conf", "sampleInt: 1");
+        AppConfigr cut = AppConfigr.fromSource(new DelegatingConfigSource(delegate) {
+            @Override
+            public InputStream open(String name) throws IOException {
+                InputStream content = super.open(name);
+                // the file changes while it is read
+                delegate.put(name, "sampleInt: 2");
+                return content;
+            }
+        })
+                .withCaching()
+                .build();
+
+        SampleConfig async = cut.getConfigAsync(SampleConfig.class)
+                .get(10, TimeUnit.SECONDS);
+        SampleConfig reloaded = cut.getConfig(SampleConfig.class);
+
+        assertThat(async.getSampleInt()).isEqualTo(1);
+        assertThat(reloaded.getSampleInt()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldCompleteWithIOExceptionIfAsyncConfigCannotBeRead() throws Exception {
+        AppConfigr cut = AppConfigr.fromSource(new DelegatingConfigSource(ConfigSources.inMemory()
+                .put("sample-config.conf", "sampleInt: 1")) {
+            @Override
+            public InputStream open(String name) throws IOException {
+                throw new IOException("unreadable");
+            }
+        })
+                .build();
+
+        try {
+            cut.getConfigAsync(SampleConfig.class)
+                    .get(10, TimeUnit.SECONDS);
+            fail("ExecutionException expected when reading an unreadable file.");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(IOException.class)
+                    .hasMessage("unreadable");
+        }
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyIfAsyncConfigCannotBeFound() throws Exception {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .build();
+
+        try {
+            cut.getConfigAsync(SampleConfig.class, "unknown.conf")
+                    .get(10, TimeUnit.SECONDS);
+            fail("ExecutionException expected when loading an unknown file.");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
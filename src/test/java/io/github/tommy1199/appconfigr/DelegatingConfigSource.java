@@ -0,0 +1,36 @@
+package io.github.tommy1199.appconfigr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Source passing all calls to another source. Tests override single methods to count, change or fail these calls.
+ */
+class DelegatingConfigSource implements ConfigSource {
+    private final ConfigSource delegate;
+
+    DelegatingConfigSource(ConfigSource delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean exists(String name) {
+        return delegate.exists(name);
+    }
+
+    @Override
+    public InputStream open(String name) throws IOException {
+        return delegate.open(name);
+    }
+
+    @Override
+    public Object changeStamp(String name) throws IOException {
+        return delegate.changeStamp(name);
+    }
+
+    @Override
+    public Set<String> names() throws IOException {
+        return delegate.names();
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.tommy1199.appconfigr;
+
+class FixedResolver extends VariableResolver {
+    private final String number;
+    private final String string;
+
+    FixedResolver(String number, String string) {
+        this.number = number;
+        this.string = string;
+    }
+
+    @Override
+    Result resolve(String variableName) {
+        if (variableName.equals("NUMBER")) return Result.some(number);
+        if (variableName.equals("STRING")) return Result.some(string);
+        return Result.none("");
+    }
+}
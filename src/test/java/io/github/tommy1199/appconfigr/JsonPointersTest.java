@@ -0,0 +1,144 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonPointersTest {
+    private static final String CONTENT = "{\"skipped\": {\"nested\": [1, {\"a\": 2}]}, \"list\": [\"x\", {\"value\": " +
+            "42}], \"scalar\": 1}";
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File sampleConfigsDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        sampleConfigsDirectory = new File(this.getClass()
+                .getResource("/sample-configs")
+                .getFile());
+    }
+
+    @Test
+    public void shouldMoveToNestedValue() throws Exception {
+        JsonParser parser = new JsonFactory().createParser(CONTENT);
+
+        boolean found = JsonPointers.moveTo(parser, JsonPointer.compile("/list/1/value"));
+
+        assertThat(found).isTrue();
+        assertThat(parser.getIntValue()).isEqualTo(42);
+    }
+
+    @Test
+    public void shouldStayAtRootForEmptyPointer() throws Exception {
+        JsonParser parser = new JsonFactory().createParser(CONTENT);
+
+        boolean found = JsonPointers.moveTo(parser, JsonPointer.compile(""));
+
+        assertThat(found).isTrue();
+        assertThat(parser.isExpectedStartObjectToken()).isTrue();
+    }
+
+    @Test
+    public void shouldNotFindMissingValues() throws Exception {
+        assertThat(JsonPointers.moveTo(new JsonFactory().createParser(CONTENT), JsonPointer.compile("/unknown")))
+                .isFalse();
+        assertThat(JsonPointers.moveTo(new JsonFactory().createParser(CONTENT), JsonPointer.compile("/list/5")))
+                .isFalse();
+        assertThat(JsonPointers.moveTo(new JsonFactory().createParser(CONTENT), JsonPointer.compile("/scalar/a")))
+                .isFalse();
+    }
+
+    @Test
+    public void shouldLoadSectionAddressedByPointer() {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .build();
+
+        SampleConfig config = cut.getConfig(SampleConfig.class, "sections.conf", "/services/1/config");
+
+        assertThat(config.getSampleInt()).isEqualTo(100);
+        assertThat(config.getSampleString()).isEqualTo("YIPPIE");
+    }
+
+    @Test
+    public void shouldLoadSectionAddressedByPointerFromMergedLayers() throws Exception {
+        Path base = tempFolder.newFolder("base").toPath();
+        Path overlay = tempFolder.newFolder("overlay").toPath();
+        Files.write(base.resolve("sections.conf"), "server:\n  config:\n    sampleInt: 1\n    sampleString: base"
+                .getBytes(StandardCharsets.UTF_8));
+        Files.write(overlay.resolve("sections.conf"), "server:\n  config:\n    sampleInt: 2"
+                .getBytes(StandardCharsets.UTF_8));
+        AppConfigr cut = AppConfigr.fromDirectory(base)
+                .withOverlayDirectory(overlay)
+                .build();
+
+        SampleConfig config = cut.getConfig(SampleConfig.class, "sections.conf", "/server/config");
+
+        assertThat(config.getSampleInt()).isEqualTo(2);
+        assertThat(config.getSampleString()).isEqualTo("base");
+    }
+
+    @Test
+    public void shouldImplementConfigInterfaceForSectionAddressedByPointer() {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .build();
+
+        CustomResolverConfig config = cut.getConfig(CustomResolverConfig.class, "sections.conf",
+                "/services/1/config");
+
+        assertThat(config.getSampleInt()).isEqualTo(100);
+        assertThat(config.getSampleString()).isEqualTo("YIPPIE");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExIfSectionCannotBeFound() {
+        AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .build()
+                .getConfig(SampleConfig.class, "sections.conf", "/services/2/config");
+    }
+
+    @Test
+    public void shouldStreamElementsOfArray() {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .build();
+
+        try (Stream<ServiceEntry> services = cut.stream(ServiceEntry.class, "sections.conf", "/services")) {
+            assertThat(services.map(service -> service.config.getSampleInt())
+                    .collect(Collectors.toList())).containsExactly(1, 100);
+        }
+    }
+
+    @Test
+    public void shouldStreamEmptyArray() {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .build();
+
+        try (Stream<Integer> elements = cut.stream(Integer.class, "sections.conf", "/empty")) {
+            assertThat(elements.count()).isEqualTo(0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExIfStreamedValueIsNoArray() {
+        AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .build()
+                .stream(SampleConfig.class, "sections.conf", "/unused");
+    }
+}
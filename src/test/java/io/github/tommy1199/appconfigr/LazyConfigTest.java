@@ -0,0 +1,137 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class LazyConfigTest {
+
+    private final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+
+    private ServerConfig cut;
+
+    private File sampleConfigsDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        sampleConfigsDirectory = new File(this.getClass()
+                .getResource("/sample-configs")
+                .getFile());
+        JsonNode tree = mapper.readTree("name: main\n" +
+                "enabled: true\n" +
+                "ports: [80, 443]\n" +
+                "limits:\n" +
+                "  maxConnections: 100\n" +
+                "broken:\n" +
+                "  sampleInt: not a number\n" +
+                "sample:\n" +
+                "  sampleInt: 3\n" +
+                "sample-alias:\n" +
+                "  sampleInt: 4\n");
+        cut = LazyConfig.of(ServerConfig.class, tree, new LazyConfig.Binder() {
+            @Override
+            public Object bind(Type type, JsonNode node) throws IOException {
+                return mapper.readerFor(mapper.constructType(type))
+                        .readValue(node);
+            }
+        });
+    }
+
+    @Test
+    public void shouldBindValuesOfGetters() {
+        assertThat(cut.getName()).isEqualTo("main");
+        assertThat(cut.isEnabled()).isTrue();
+        assertThat(cut.ports()).containsExactly(80, 443);
+        assertThat(cut.getLimits().getMaxConnections()).isEqualTo(100);
+        assertThat(cut.getAlias().getSampleInt()).isEqualTo(4);
+    }
+
+    @Test
+    public void shouldReturnSameValueOnEachCall() {
+        assertThat(cut.getSample()).isSameAs(cut.getSample());
+        assertThat(cut.getLimits()).isSameAs(cut.getLimits());
+    }
+
+    @Test
+    public void shouldReturnDefaultValuesForMissingFields() {
+        assertThat(cut.getMissing()).isNull();
+        assertThat(cut.getTimeout()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldBindSectionsOnlyWhenTheyAreUsed() {
+        assertThat(cut.getSample().getSampleInt()).isEqualTo(3);
+        try {
+            cut.getBroken();
+            fail("ConfigurationException expected when binding an invalid section.");
+        } catch (ConfigurationException e) {
+            assertThat(e).hasMessageContaining("broken");
+        }
+    }
+
+    @Test
+    public void shouldInvokeDefaultMethods() {
+        assertThat(cut.describe("server ")).isEqualTo("server main");
+    }
+
+    @Test
+    public void shouldListOnlyFieldNamesInToString() {
+        assertThat(cut.toString()).isEqualTo("ServerConfig{name, enabled, ports, limits, broken, sample, " +
+                "sample-alias}")
+                .doesNotContain("main");
+    }
+
+    @Test
+    public void shouldImplementConfigInterfaceWithResolvedValues() {
+        AppConfigr configr = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .withCaching()
+                .build();
+
+        CustomResolverConfig config = configr.getConfig(CustomResolverConfig.class, "custom-resolver.conf");
+
+        assertThat(config.getSampleInt()).isEqualTo(100);
+        assertThat(config.getSampleString()).isEqualTo("YIPPIE");
+        assertThat(configr.getConfig(CustomResolverConfig.class, "custom-resolver.conf")).isSameAs(config);
+    }
+
+    public interface ServerConfig {
+        String getName();
+
+        default String describe(String prefix) {
+            return prefix + getName();
+        }
+
+        boolean isEnabled();
+
+        List<Integer> ports();
+
+        Limits getLimits();
+
+        SampleConfig getBroken();
+
+        SampleConfig getSample();
+
+        @JsonProperty("sample-alias")
+        SampleConfig getAlias();
+
+        String getMissing();
+
+        int getTimeout();
+    }
+
+    public interface Limits {
+        int getMaxConnections();
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.tommy1199.appconfigr;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.EnvironmentVariables;
+import org.junit.contrib.java.lang.system.ProvideSystemProperty;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.Assert.fail;
+
+public class LoadRecorderTest {
+
+    @Rule
+    public final EnvironmentVariables envs = new EnvironmentVariables();
+
+    @Rule
+    public final ProvideSystemProperty property1 = new ProvideSystemProperty("REPLACE_ME_WITH_SYS_PROP_STRING", "good" +
+            " morning");
+
+    private File sampleConfigsDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        sampleConfigsDirectory = new File(this.getClass()
+                .getResource("/sample-configs")
+                .getFile());
+    }
+
+    @Test
+    public void shouldReportLoadMetricsToListener() {
+        envs.set("REPLACE_ME_WITH_ENV_INT", "20");
+        final List<ConfigLoadEvent> events = new ArrayList<>();
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withMetricsListener(new ConfigMetricsListener() {
+                    @Override
+                    public void onLoad(ConfigLoadEvent event) {
+                        events.add(event);
+                    }
+                })
+                .build();
+
+        cut.getConfig(SampleConfig.class, "custom-with-variables.conf");
+
+        assertThat(events).hasSize(1);
+        ConfigLoadEvent event = events.get(0);
+        assertThat(event.isSuccessful()).isTrue();
+        assertThat(event.getPath().getFileName().toString()).isEqualTo("custom-with-variables.conf");
+        assertThat(event.getBytesRead()).isGreaterThan(0);
+        assertThat(event.getVariableCount()).isEqualTo(2);
+        assertThat(event.getResolverStats()).extracting("name", "hits", "misses")
+                .containsExactly(tuple("system properties", 1, 1), tuple("environment variables", 1, 0));
+    }
+
+    @Test
+    public void shouldCountEachMissOnceAndReportResolversWithSameNameSeparately() {
+        final List<ConfigLoadEvent> events = new ArrayList<>();
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("sample-config.conf", "sampleInt: ${MISSING_INT:-4}\nsampleString: ${MISSING_STRING:-none}"))
+                .withResolvingStrategy(VariableResolver.fromMap(Collections.<String, String>emptyMap())
+                        .withFallback(VariableResolver.fromMap(Collections.<String, String>emptyMap())))
+                .withMetricsListener(new ConfigMetricsListener() {
+                    @Override
+                    public void onLoad(ConfigLoadEvent event) {
+                        events.add(event);
+                    }
+                })
+                .build();
+
+        SampleConfig config = cut.getConfig(SampleConfig.class);
+
+        assertThat(config.getSampleInt()).isEqualTo(4);
+        assertThat(events.get(0)
+                .getResolverStats()).extracting("name", "hits", "misses")
+                .containsExactly(tuple("resolved values", 0, 2), tuple("resolved values", 0, 2));
+    }
+
+    @Test
+    public void shouldReportFailedLoadsToListener() {
+        final List<ConfigLoadEvent> events = new ArrayList<>();
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("not a number", ""))
+                .withStreamingResolution()
+                .withMetricsListener(new ConfigMetricsListener() {
+                    @Override
+                    public void onLoad(ConfigLoadEvent event) {
+                        events.add(event);
+                    }
+                })
+                .build();
+
+        try {
+            cut.getConfig(SampleConfig.class, "custom-resolver.conf");
+            fail("Exception expected when binding an invalid number.");
+        } catch (RuntimeException e) {
+            assertThat(events).hasSize(1);
+            assertThat(events.get(0).getFailure()).isNotNull();
+        }
+    }
+
+    @Test
+    public void shouldReportEachLoadOnceIfListenerFails() {
+        final List<ConfigLoadEvent> events = new ArrayList<>();
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withMetricsListener(new ConfigMetricsListener() {
+                    @Override
+                    public void onLoad(ConfigLoadEvent event) {
+                        events.add(event);
+                        throw new IllegalStateException("listener failed");
+                    }
+                })
+                .build();
+
+        SampleConfig config;
+        try (RecordingLogHandler log = RecordingLogHandler.of(AppConfigr.class)) {
+            config = cut.getConfig(SampleConfig.class);
+
+            assertThat(log.getRecords()).hasSize(1);
+            assertThat(log.getRecords()
+                    .get(0)
+                    .getThrown()).hasMessage("listener failed");
+        }
+
+        assertThat(config.getSampleInt()).isEqualTo(12);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).isSuccessful()).isTrue();
+    }
+
+    @Test
+    public void shouldReportSectionLoadsToListener() {
+        final List<ConfigLoadEvent> events = new ArrayList<>();
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .withMetricsListener(new ConfigMetricsListener() {
+                    @Override
+                    public void onLoad(ConfigLoadEvent event) {
+                        events.add(event);
+                    }
+                })
+                .build();
+
+        cut.getConfig(SampleConfig.class, "sections.conf", "/services/1/config");
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).isSuccessful()).isTrue();
+        assertThat(events.get(0).getPath().getFileName().toString()).isEqualTo("sections.conf");
+        assertThat(events.get(0).getBytesRead()).isGreaterThan(0);
+    }
+
+    @Test
+    public void shouldReportStreamedLoadWhenStreamIsClosed() {
+        final List<ConfigLoadEvent> events = new ArrayList<>();
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .withMetricsListener(new ConfigMetricsListener() {
+                    @Override
+                    public void onLoad(ConfigLoadEvent event) {
+                        events.add(event);
+                    }
+                })
+                .build();
+
+        try (Stream<ServiceEntry> services = cut.stream(ServiceEntry.class, "sections.conf", "/services")) {
+            assertThat(services.count()).isEqualTo(2);
+            assertThat(events).isEmpty();
+        }
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).isSuccessful()).isTrue();
+        assertThat(events.get(0).getBytesRead()).isGreaterThan(0);
+    }
+}
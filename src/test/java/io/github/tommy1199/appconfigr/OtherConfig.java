@@ -0,0 +1,4 @@
+package io.github.tommy1199.appconfigr;
+
+public class OtherConfig extends SampleConfig {
+}
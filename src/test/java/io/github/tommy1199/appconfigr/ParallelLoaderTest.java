@@ -0,0 +1,77 @@
+package io.github.tommy1199.appconfigr;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class ParallelLoaderTest {
+
+    @Test
+    public void shouldReturnResultsByKey() {
+        Map<String, String> results = ParallelLoader.loadAll(ImmutableMap.of("a", constant("1"), "b", constant("2")),
+                null);
+
+        assertThat(results).isEqualTo(ImmutableMap.of("a", "1", "b", "2"));
+        assertThat(results.keySet()).containsExactly("a", "b");
+    }
+
+    @Test
+    public void shouldReportNullResultWithItsKey() {
+        try {
+            ParallelLoader.loadAll(ImmutableMap.of("a.conf", constant("1"), "b.conf", constant(null)), null);
+            fail("ConfigurationException expected for a task without result.");
+        } catch (ConfigurationException e) {
+            assertThat(e.getSuppressed()).hasSize(1);
+            assertThat(e.getSuppressed()[0]).hasMessageContaining("b.conf");
+        }
+    }
+
+    @Test
+    public void shouldNotDeadlockWhenCalledFromEveryThreadOfCommonPool() throws Exception {
+        List<Future<Map<String, String>>> callers = new ArrayList<>();
+        for (int i = 0; i <= ForkJoinPool.commonPool()
+                .getParallelism(); i++) {
+            callers.add(ForkJoinPool.commonPool()
+                    .submit(new Callable<Map<String, String>>() {
+                        @Override
+                        public Map<String, String> call() {
+                            return ParallelLoader.loadAll(ImmutableMap.of("a", sleeping("1"), "b", sleeping("2")),
+                                    null);
+                        }
+                    }));
+        }
+
+        for (Future<Map<String, String>> caller : callers) {
+            assertThat(caller.get(10, TimeUnit.SECONDS)).hasSize(2);
+        }
+    }
+
+    private static Callable<String> constant(final String value) {
+        return new Callable<String>() {
+            @Override
+            public String call() {
+                return value;
+            }
+        };
+    }
+
+    private static Callable<String> sleeping(final String value) {
+        return new Callable<String>() {
+            @Override
+            public String call() throws InterruptedException {
+                Thread.sleep(50);
+                return value;
+            }
+        };
+    }
+}
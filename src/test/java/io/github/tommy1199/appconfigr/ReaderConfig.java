@@ -0,0 +1,50 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+@AppConfig
+public class ReaderConfig {
+    public int count;
+    public boolean enabled;
+    public Integer optional;
+    public Boolean active;
+    public List<String> tags;
+    public Limits limits;
+    @JsonProperty("display-name")
+    String displayName;
+    @JsonIgnore
+    public String secret;
+    private String name;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @AppConfig
+    public static class Limits {
+        public long max;
+        public double ratio;
+        public float weight;
+    }
+
+    @AppConfig
+    public static class Hidden {
+        int hidden;
+    }
+
+    @AppConfig
+    public static class SetterOnly {
+        public int value;
+
+        public void setDoubled(int doubled) {
+            value = doubled * 2;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.tommy1199.appconfigr;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Records the messages of the logger of a class instead of printing them, until it is closed.
+ */
+class RecordingLogHandler extends Handler implements AutoCloseable {
+    private final List<LogRecord> records = new CopyOnWriteArrayList<>();
+    private final Logger logger;
+
+    private RecordingLogHandler(Logger logger) {
+        this.logger = logger;
+    }
+
+    static RecordingLogHandler of(Class<?> clazz) {
+        Logger logger = Logger.getLogger(clazz.getName());
+        RecordingLogHandler handler = new RecordingLogHandler(logger);
+        logger.addHandler(handler);
+        logger.setUseParentHandlers(false);
+        return handler;
+    }
+
+    List<LogRecord> getRecords() {
+        return records;
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        records.add(record);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+        logger.removeHandler(this);
+        logger.setUseParentHandlers(true);
+    }
+}
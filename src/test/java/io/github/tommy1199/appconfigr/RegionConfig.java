@@ -0,0 +1,14 @@
+package io.github.tommy1199.appconfigr;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class RegionConfig {
+    public String primary;
+    public List<String> regions;
+    public Set<String> codes;
+    public Map<String, String> tags;
+    public ArrayList<String> concrete;
+}
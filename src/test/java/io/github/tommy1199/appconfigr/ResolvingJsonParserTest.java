@@ -0,0 +1,71 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResolvingJsonParserTest {
+
+    private File sampleConfigsDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        sampleConfigsDirectory = new File(this.getClass()
+                .getResource("/sample-configs")
+                .getFile());
+    }
+
+    @Test
+    public void shouldResolveVariablesWhileParsingWithStreamingResolution() {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .withStreamingResolution()
+                .build();
+
+        SampleConfig yamlConfig = cut.getConfig(SampleConfig.class, "custom-resolver.conf");
+
+        assertThat(yamlConfig.getSampleInt()).isEqualTo(100);
+        assertThat(yamlConfig.getSampleString()).isEqualTo("YIPPIE");
+    }
+
+    @Test
+    public void shouldResolveQuotedVariablesInJsonWithStreamingResolution() {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withFactory(new JsonFactory())
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .withStreamingResolution()
+                .build();
+
+        SampleConfig config = cut.getConfig(SampleConfig.class, "custom-resolver-in-json.conf");
+
+        assertThat(config.getSampleInt()).isEqualTo(100);
+        assertThat(config.getSampleString()).isEqualTo("YIPPIE");
+    }
+
+    @Test
+    public void shouldNotChangeDocumentStructureWithStreamingResolution() {
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("100", "injected\nsampleInt: 5"))
+                .withStreamingResolution()
+                .build();
+
+        SampleConfig config = cut.getConfig(SampleConfig.class, "custom-resolver.conf");
+
+        assertThat(config.getSampleInt()).isEqualTo(100);
+        assertThat(config.getSampleString()).isEqualTo("injected\nsampleInt: 5");
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void shouldThrowConfigurationExceptionIfVariableCannotBeResolvedWithStreamingResolution() {
+        AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("sample-config.conf", "sampleInt: 1\nsampleString: ${NOT_DEFINED_ANYWHERE}"))
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .withStreamingResolution()
+                .build()
+                .getConfig(SampleConfig.class);
+    }
+}
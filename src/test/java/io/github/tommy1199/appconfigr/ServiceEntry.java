@@ -0,0 +1,6 @@
+package io.github.tommy1199.appconfigr;
+
+public class ServiceEntry {
+    public String name;
+    public SampleConfig config;
+}
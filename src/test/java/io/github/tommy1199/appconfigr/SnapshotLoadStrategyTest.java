@@ -0,0 +1,165 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SnapshotLoadStrategyTest {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File sampleConfigsDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        sampleConfigsDirectory = new File(this.getClass()
+                .getResource("/sample-configs")
+                .getFile());
+    }
+
+    @Test
+    public void shouldLoadConfigFromSnapshot() throws Exception {
+        Path snapshots = tempFolder.newFolder("snapshots").toPath();
+        AppConfigr first = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .withSnapshotDirectory(snapshots)
+                .build();
+        first.getConfig(SampleConfig.class, "custom-resolver.conf");
+        AppConfigr second = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .withSnapshotDirectory(snapshots)
+                .build();
+
+        SampleConfig config = second.getConfig(SampleConfig.class, "custom-resolver.conf");
+
+        assertThat(snapshots.toFile().list()).hasSize(1);
+        assertThat(config.getSampleInt()).isEqualTo(100);
+        assertThat(config.getSampleString()).isEqualTo("YIPPIE");
+    }
+
+    @Test
+    public void shouldNotUseSnapshotIfVariablesHaveChanged() throws Exception {
+        Path snapshots = tempFolder.newFolder("snapshots").toPath();
+        AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .withSnapshotDirectory(snapshots)
+                .build()
+                .getConfig(SampleConfig.class, "custom-resolver.conf");
+
+        SampleConfig config = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("200", "YIPPIE"))
+                .withSnapshotDirectory(snapshots)
+                .build()
+                .getConfig(SampleConfig.class, "custom-resolver.conf");
+
+        assertThat(config.getSampleInt()).isEqualTo(200);
+        assertThat(snapshots.toFile().list()).hasSize(2);
+    }
+
+    @Test
+    public void shouldReportSnapshotLoadsToListener() throws Exception {
+        final List<ConfigLoadEvent> events = new ArrayList<>();
+        AppConfigr cut = AppConfigr.fromDirectory(sampleConfigsDirectory)
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .withSnapshotDirectory(tempFolder.newFolder("snapshots").toPath())
+                .withMetricsListener(new ConfigMetricsListener() {
+                    @Override
+                    public void onLoad(ConfigLoadEvent event) {
+                        events.add(event);
+                    }
+                })
+                .build();
+
+        cut.getConfig(SampleConfig.class, "custom-resolver.conf");
+        cut.getConfig(SampleConfig.class, "custom-resolver.conf");
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(1)
+                .isSuccessful()).isTrue();
+        assertThat(events.get(1)
+                .getVariableCount()).isEqualTo(2);
+        assertThat(events.get(1)
+                .getBytesRead()).isGreaterThan(0);
+    }
+
+    @Test
+    public void shouldIgnoreVariablesInCommentsOfSnapshotWithStreamingResolution() throws Exception {
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("sample-config.conf", "# sampleString: ${NOT_DEFINED_ANYWHERE}\nsampleInt: ${NUMBER}"))
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .withStreamingResolution()
+                .withSnapshotDirectory(tempFolder.newFolder("snapshots").toPath())
+                .build();
+
+        SampleConfig config = cut.getConfig(SampleConfig.class);
+
+        assertThat(config.getSampleInt()).isEqualTo(100);
+    }
+
+    @Test
+    public void shouldNotParseFileIfSnapshotIsUsed() throws Exception {
+        CountingJsonFactory factory = new CountingJsonFactory();
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("sample-config.conf", "{\"sampleInt\": \"${NUMBER}\", \"sampleString\": \"${STRING}\"}"))
+                .withFactory(factory)
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .withStreamingResolution()
+                .withSnapshotDirectory(tempFolder.newFolder("snapshots").toPath())
+                .build();
+        cut.getConfig(SampleConfig.class);
+        int parsersOfMiss = factory.parsers.get();
+
+        SampleConfig config = cut.getConfig(SampleConfig.class);
+
+        assertThat(parsersOfMiss).isGreaterThan(0);
+        assertThat(factory.parsers.get()).isEqualTo(parsersOfMiss);
+        assertThat(config.getSampleInt()).isEqualTo(100);
+        assertThat(config.getSampleString()).isEqualTo("YIPPIE");
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void shouldThrowConfigurationExceptionIfVariableOfSnapshotCannotBeResolved() throws Exception {
+        AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("sample-config.conf", "sampleInt: ${NOT_DEFINED_ANYWHERE}"))
+                .withResolvingStrategy(new FixedResolver("100", "YIPPIE"))
+                .withSnapshotDirectory(tempFolder.newFolder("snapshots").toPath())
+                .build()
+                .getConfig(SampleConfig.class);
+    }
+
+    private static class CountingJsonFactory extends JsonFactory {
+        private final AtomicInteger parsers = new AtomicInteger();
+
+        @Override
+        public JsonParser createParser(InputStream in) throws IOException {
+            parsers.incrementAndGet();
+            return super.createParser(in);
+        }
+
+        @Override
+        public JsonParser createParser(byte[] data) throws IOException {
+            parsers.incrementAndGet();
+            return super.createParser(data);
+        }
+
+        @Override
+        public JsonParser createParser(String content) throws IOException {
+            parsers.incrementAndGet();
+            return super.createParser(content);
+        }
+    }
+}
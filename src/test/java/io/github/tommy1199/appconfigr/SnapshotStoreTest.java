@@ -0,0 +1,71 @@
+package io.github.tommy1199.appconfigr;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SnapshotStoreTest {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Path directory;
+    private SnapshotStore cut;
+
+    @Before
+    public void setUp() {
+        directory = tempFolder.getRoot()
+                .toPath()
+                .resolve("snapshots");
+        cut = new SnapshotStore(directory);
+    }
+
+    @Test
+    public void shouldLoadStoredTree() {
+        ObjectNode tree = JsonNodeFactory.instance.objectNode()
+                .put("sampleInt", 12);
+
+        cut.store("key", tree);
+
+        assertThat(cut.load("key")).isEqualTo(tree);
+    }
+
+    @Test
+    public void shouldReturnNullForUnknownKey() {
+        assertThat(cut.load("unknown")).isNull();
+    }
+
+    @Test
+    public void shouldDiscardCorruptSnapshot() throws Exception {
+        Files.createDirectories(directory);
+        Path snapshot = Files.write(directory.resolve("key.smile"), "corrupt".getBytes(StandardCharsets.UTF_8));
+
+        JsonNode tree = cut.load("key");
+
+        assertThat(tree).isNull();
+        assertThat(Files.exists(snapshot)).isFalse();
+    }
+
+    @Test
+    public void shouldDeriveDifferentKeysForDifferentVariableValues() {
+        byte[] source = "sampleInt: ${NUMBER}".getBytes(StandardCharsets.UTF_8);
+
+        String first = SnapshotStore.keyOf(source, "YAML", false, Collections.singletonMap("NUMBER", "1"));
+        String second = SnapshotStore.keyOf(source, "YAML", false, Collections.singletonMap("NUMBER", "2"));
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(first).isEqualTo(SnapshotStore.keyOf(source, "YAML", false,
+                Collections.singletonMap("NUMBER", "1")));
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.tommy1199.appconfigr;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class TemplateLoadStrategyTest {
+
+    @Rule
+    public final RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+    @Test
+    public void shouldRenderCompiledTemplateWithCurrentValuesOfVariables() {
+        InMemoryConfigSource source = ConfigSources.inMemory()
+                .put("sample-config.conf", "sampleInt: ${TEMPLATE_INT:-8}\nsampleString: ${TEMPLATE_STRING:-none}");
+        AppConfigr cut = AppConfigr.fromSource(source)
+                .withCompiledTemplates()
+                .build();
+
+        SampleConfig defaults = cut.getConfig(SampleConfig.class);
+        System.setProperty("TEMPLATE_INT", "9");
+        SampleConfig changed = cut.getConfig(SampleConfig.class);
+
+        assertThat(defaults.getSampleInt()).isEqualTo(8);
+        assertThat(defaults.getSampleString()).isEqualTo("none");
+        assertThat(changed.getSampleInt()).isEqualTo(9);
+    }
+
+    @Test
+    public void shouldReturnBoundConfigOfTemplateIfNoValueHasChanged() {
+        System.setProperty("TEMPLATE_INT", "3");
+        InMemoryConfigSource source = ConfigSources.inMemory()
+                .put("sample-config.conf", "sampleInt: ${TEMPLATE_INT}");
+        AppConfigr cut = AppConfigr.fromSource(source)
+                .withCompiledTemplates()
+                .build();
+
+        SampleConfig first = cut.getConfig(SampleConfig.class);
+        SampleConfig second = cut.getConfig(SampleConfig.class);
+        source.put("sample-config.conf", "sampleInt: ${TEMPLATE_INT}0");
+        SampleConfig recompiled = cut.getConfig(SampleConfig.class);
+
+        assertThat(second).isSameAs(first);
+        assertThat(recompiled.getSampleInt()).isEqualTo(30);
+    }
+
+    @Test
+    public void shouldReportTemplateLoadsToListener() {
+        System.setProperty("TEMPLATE_INT", "3");
+        final List<ConfigLoadEvent> events = new ArrayList<>();
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("sample-config.conf", "sampleInt: ${TEMPLATE_INT}\nsampleString: ${TEMPLATE_STRING:-none}"))
+                .withCompiledTemplates()
+                .withMetricsListener(new ConfigMetricsListener() {
+                    @Override
+                    public void onLoad(ConfigLoadEvent event) {
+                        events.add(event);
+                    }
+                })
+                .build();
+
+        cut.getConfig(SampleConfig.class);
+        cut.getConfig(SampleConfig.class);
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0)
+                .getBytesRead()).isGreaterThan(0);
+        assertThat(events.get(0)
+                .getVariableCount()).isEqualTo(2);
+        assertThat(events.get(1)
+                .getBytesRead()).isEqualTo(0);
+        assertThat(events.get(1)
+                .getResolverStats()).extracting("name", "hits", "misses")
+                .containsExactly(tuple("system properties", 1, 1), tuple("environment variables", 0, 1));
+    }
+}
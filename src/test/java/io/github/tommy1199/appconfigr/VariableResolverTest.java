@@ -4,17 +4,42 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.contrib.java.lang.system.EnvironmentVariables;
 import org.junit.contrib.java.lang.system.ProvideSystemProperty;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 
 public class VariableResolverTest {
 
     @Rule
     public final EnvironmentVariables envs = new EnvironmentVariables();
 
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
     @Rule
     public final ProvideSystemProperty property1 = new ProvideSystemProperty("FROM_PROPS", "fromprops");
 
+    @Rule
+    public final RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
     @Test(expected = ConfigurationException.class)
     public void shouldThrowConfigurationExceptionWhenVariableCannotBeResolvedByEnv() {
         VariableResolver.fromEnvironment()
@@ -63,4 +88,319 @@ public class VariableResolverTest {
                 .withFallback(VariableResolver.fromSystemProperties())
                 .get("Unknown");
     }
+
+    @Test
+    public void shouldCombineMessagesWhenFallbackCannotResolve() {
+        try {
+            VariableResolver.fromEnvironment()
+                    .withFallback(VariableResolver.fromSystemProperties())
+                    .get("Unknown");
+            fail("ConfigurationException expected for an unknown variable.");
+        } catch (ConfigurationException e) {
+            assertThat(e).hasMessage("[Unknown] can not be resolved from the environment variables. [Unknown] can " +
+                    "not be resolved from the system properties.");
+        }
+    }
+
+    @Test
+    public void shouldReturnCachedValueWithinTimeToLive() {
+        CountingResolver original = new CountingResolver();
+        VariableResolver cut = original.cached(1, TimeUnit.HOURS);
+
+        assertThat(cut.get("test")).isEqualTo("value1");
+        assertThat(cut.get("test")).isEqualTo("value1");
+        assertThat(original.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReturnStaleValueWhileRefreshingAfterTimeToLive() throws Exception {
+        CountingResolver original = new CountingResolver();
+        VariableResolver cut = original.cached(1, TimeUnit.MILLISECONDS);
+        cut.get("test");
+        original.refreshAllowed = new CountDownLatch(1);
+        Thread.sleep(5);
+
+        assertThat(cut.get("test")).isEqualTo("value1");
+        original.refreshAllowed.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cut.get("test").equals("value1") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(cut.get("test")).isNotEqualTo("value1");
+    }
+
+    @Test
+    public void shouldCacheWithDuration() {
+        CountingResolver original = new CountingResolver();
+        VariableResolver cut = original.cached(Duration.ofHours(1));
+
+        cut.get("test");
+        cut.get("test");
+
+        assertThat(original.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldUseFallbackWhenResolvingAsynchronously() {
+        Map<String, String> values = VariableResolver.fromEnvironment()
+                .withFallback(VariableResolver.fromSystemProperties())
+                .resolveAllAsync(Collections.singleton("FROM_PROPS"))
+                .join();
+
+        assertThat(values).containsEntry("FROM_PROPS", "fromprops");
+    }
+
+    @Test
+    public void shouldPassOnlyLeftoversToFallbackWhenResolvingAll() {
+        BatchResolver original = new BatchResolver(Collections.singletonMap("FIRST", "first"));
+        BatchResolver fallback = new BatchResolver(Collections.singletonMap("SECOND", "second"));
+
+        Map<String, String> values = original.withFallback(fallback)
+                .getResolvable(new LinkedHashSet<>(Arrays.asList("FIRST", "SECOND")));
+
+        assertThat(values).containsEntry("FIRST", "first")
+                .containsEntry("SECOND", "second");
+        assertThat(original.batches).isEqualTo(Collections.singletonList(new LinkedHashSet<>(
+                Arrays.asList("FIRST", "SECOND"))));
+        assertThat(fallback.batches).isEqualTo(Collections.singletonList(Collections.singleton("SECOND")));
+    }
+
+    @Test
+    public void shouldLeaveOutVariablesWhichCannotBeResolvedByAnyResolver() {
+        BatchResolver fallback = new BatchResolver(Collections.<String, String>emptyMap());
+
+        Map<String, String> values = new BatchResolver(Collections.<String, String>emptyMap()).withFallback(fallback)
+                .getResolvable(Collections.singleton("Unknown"));
+
+        assertThat(values).isEmpty();
+        assertThat(fallback.batches).isEqualTo(Collections.singletonList(Collections.singleton("Unknown")));
+    }
+
+    @Test
+    public void shouldLoadAllMissingValuesOfCachedResolverInOneBatch() {
+        BatchResolver original = new BatchResolver(Collections.singletonMap("FIRST", "first"));
+        VariableResolver cut = original.cached(1, TimeUnit.HOURS);
+        cut.get("FIRST");
+
+        cut.resolveAll(new LinkedHashSet<>(Arrays.asList("FIRST", "SECOND", "THIRD")));
+
+        assertThat(original.batches).isEqualTo(Collections.singletonList(new LinkedHashSet<>(
+                Arrays.asList("SECOND", "THIRD"))));
+    }
+
+    @Test
+    public void shouldReportVariablesMissingInBatchOfCachedResolverAsNotResolvable() {
+        VariableResolver sparse = new BatchResolver(Collections.singletonMap("FIRST", "first")) {
+            @Override
+            protected Map<String, Result> resolveAll(Set<String> variableNames) {
+                return Collections.singletonMap("FIRST", Result.some("first"));
+            }
+        };
+        VariableResolver cut = sparse.cached(1, TimeUnit.HOURS);
+
+        Map<String, VariableResolver.Result> results = cut.resolveAll(new LinkedHashSet<>(Arrays.asList("FIRST",
+                "SECOND")));
+
+        assertThat(VariableResolver.valueOf(results.get("FIRST"))).isEqualTo("first");
+        assertThat(VariableResolver.isResolved(results.get("SECOND"))).isFalse();
+    }
+
+    @Test
+    public void shouldResolveFileContentWithoutTrailingLineBreak() throws IOException {
+        File secret = tempFolder.newFile("secret");
+        Files.write(secret.toPath(), "s3cret\n".getBytes(StandardCharsets.UTF_8));
+
+        String cut = VariableResolver.fromFiles()
+                .get(secret.getPath());
+
+        assertThat(cut).isEqualTo("s3cret");
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void shouldThrowConfigurationExceptionWhenFileDoesNotExist() {
+        VariableResolver.fromFiles()
+                .get(new File(tempFolder.getRoot(), "missing").getPath());
+    }
+
+    @Test
+    public void shouldRouteNamespacedVariablesOnlyToTheirResolver() {
+        BatchResolver vault = new BatchResolver(Collections.singletonMap("db.password", "secret"));
+        BatchResolver fallback = new BatchResolver(Collections.singletonMap("PLAIN", "plain"));
+        VariableResolver cut = VariableResolver.namespaced(Collections.<String, VariableResolver>singletonMap(
+                "vault", vault), fallback);
+
+        Map<String, String> values = cut.getResolvable(new LinkedHashSet<>(Arrays.asList("vault:db.password",
+                "PLAIN", "other:db.password")));
+
+        assertThat(values).hasSize(2)
+                .containsEntry("vault:db.password", "secret")
+                .containsEntry("PLAIN", "plain");
+        assertThat(vault.batches).isEqualTo(Collections.singletonList(Collections.singleton("db.password")));
+        assertThat(fallback.batches).isEqualTo(Collections.singletonList(Collections.singleton("PLAIN")));
+    }
+
+    @Test
+    public void shouldReturnVariableOfUnknownNamespaceAsItIs() {
+        VariableResolver cut = VariableResolver.namespaced(Collections.<String, VariableResolver>emptyMap(),
+                VariableResolver.fromSystemProperties());
+
+        assertThat(cut.get("vault:db.password")).isEqualTo("${vault:db.password}");
+    }
+
+    @Test
+    public void shouldReportNamespacedVariableMissingInBatchAsNotResolvable() {
+        VariableResolver sparse = new BatchResolver(Collections.singletonMap("db.user", "admin")) {
+            @Override
+            protected Map<String, Result> resolveAll(Set<String> variableNames) {
+                return Collections.singletonMap("db.user", Result.some("admin"));
+            }
+        };
+        VariableResolver cut = VariableResolver.namespaced(Collections.singletonMap("vault", sparse),
+                VariableResolver.fromSystemProperties());
+
+        Map<String, VariableResolver.Result> results = cut.resolveAll(new LinkedHashSet<>(Arrays.asList("vault:db.user",
+                "vault:db.password")));
+
+        assertThat(VariableResolver.valueOf(results.get("vault:db.user"))).isEqualTo("admin");
+        assertThat(results.get("vault:db.password")).isNotNull();
+        assertThat(VariableResolver.isResolved(results.get("vault:db.password"))).isFalse();
+    }
+
+    @Test
+    public void shouldLeaveVariableOfUnregisteredNamespaceAsItIs() {
+        VariableResolver cut = VariableResolver.namespaced(Collections.<String, VariableResolver>emptyMap(),
+                new BatchResolver(Collections.singletonMap("a", "plain")));
+
+        assertThat(Variables.replace("value: ${a:b}", cut)).isEqualTo("value: ${a:b}");
+        assertThat(Variables.replace("value: ${a:-b}", cut)).isEqualTo("value: plain");
+        assertThat(Variables.replace("value: ${a:b:-default}", cut)).isEqualTo("value: ${a:b:-default}");
+    }
+
+    @Test
+    public void shouldKeepValuesWithUnknownNamespace() throws Exception {
+        String content = "sampleInt: 1\nsampleString: \"${jdbc:url}\"";
+        AppConfigr plain = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("custom-resolver.conf", content))
+                .build();
+        AppConfigr streaming = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("custom-resolver.conf", content))
+                .withStreamingResolution()
+                .build();
+        AppConfigr templates = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("custom-resolver.conf", content))
+                .withCompiledTemplates()
+                .build();
+
+        assertThat(plain.getConfig(CustomResolverConfig.class, "custom-resolver.conf")
+                .getSampleString()).isEqualTo("${jdbc:url}");
+        assertThat(plain.getConfigAsync(CustomResolverConfig.class, "custom-resolver.conf")
+                .get()
+                .getSampleString()).isEqualTo("${jdbc:url}");
+        assertThat(streaming.getConfig(CustomResolverConfig.class, "custom-resolver.conf")
+                .getSampleString()).isEqualTo("${jdbc:url}");
+        assertThat(templates.getConfig(CustomResolverConfig.class, "custom-resolver.conf")
+                .getSampleString()).isEqualTo("${jdbc:url}");
+    }
+
+    @Test
+    public void shouldResolveDistinctVariablesOfFileInOneBatch() throws Exception {
+        Files.write(tempFolder.getRoot().toPath().resolve("sample-config.conf"), ("sampleInt: ${NUMBER}\n" +
+                "sampleString: ${STRING}-${STRING}-${NUMBER}").getBytes(StandardCharsets.UTF_8));
+        final List<Set<String>> batches = new ArrayList<>();
+        AppConfigr cut = AppConfigr.fromDirectory(tempFolder.getRoot())
+                .withResolvingStrategy(new FixedResolver("7", "a") {
+                    @Override
+                    protected Map<String, Result> resolveAll(Set<String> variableNames) {
+                        batches.add(variableNames);
+                        return super.resolveAll(variableNames);
+                    }
+                })
+                .build();
+
+        SampleConfig config = cut.getConfig(SampleConfig.class);
+
+        assertThat(config.getSampleString()).isEqualTo("a-a-7");
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsOnly("NUMBER", "STRING");
+    }
+
+    @Test
+    public void shouldResolveNamespacedVariablesWithoutResolvingStrategy() throws Exception {
+        File secret = tempFolder.newFile("secret");
+        Files.write(secret.toPath(), "from file\n".getBytes(StandardCharsets.UTF_8));
+        System.setProperty("props.int", "42");
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("custom-resolver.conf", "sampleInt: ${sys:props.int}\nsampleString: ${file:" + secret.getPath() +
+                        "}"))
+                .withResolvingStrategy(new FixedResolver("1", "never used"))
+                .withFileNamespace()
+                .build();
+
+        CustomResolverConfig config = cut.getConfig(CustomResolverConfig.class, "custom-resolver.conf");
+
+        assertThat(config.getSampleInt()).isEqualTo(42);
+        assertThat(config.getSampleString()).isEqualTo("from file");
+    }
+
+    @Test
+    public void shouldNotResolveFileNamespaceByDefault() throws Exception {
+        File secret = tempFolder.newFile("secret");
+        Files.write(secret.toPath(), "from file".getBytes(StandardCharsets.UTF_8));
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("custom-resolver.conf", "sampleInt: 1\nsampleString: ${file:" + secret.getPath() + "}"))
+                .build();
+
+        CustomResolverConfig config = cut.getConfig(CustomResolverConfig.class, "custom-resolver.conf");
+
+        assertThat(config.getSampleString()).isEqualTo("${file:" + secret.getPath() + "}");
+    }
+
+    @Test
+    public void shouldResolveVariablesOfRegisteredNamespace() {
+        AppConfigr cut = AppConfigr.fromSource(ConfigSources.inMemory()
+                .put("custom-resolver.conf", "sampleInt: ${fixed:NUMBER}\nsampleString: ${fixed:STRING}"))
+                .withNamespace("fixed", new FixedResolver("7", "seven"))
+                .build();
+
+        CustomResolverConfig config = cut.getConfig(CustomResolverConfig.class, "custom-resolver.conf");
+
+        assertThat(config.getSampleInt()).isEqualTo(7);
+        assertThat(config.getSampleString()).isEqualTo("seven");
+    }
+
+    private static class CountingResolver extends VariableResolver {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile CountDownLatch refreshAllowed = new CountDownLatch(0);
+
+        @Override
+        Result resolve(String variableName) {
+            try {
+                refreshAllowed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Result.some("value" + calls.incrementAndGet());
+        }
+    }
+
+    private static class BatchResolver extends VariableResolver {
+        private final Map<String, String> values;
+        private final List<Set<String>> batches = new ArrayList<>();
+
+        private BatchResolver(Map<String, String> values) {
+            this.values = values;
+        }
+
+        @Override
+        Result resolve(String variableName) {
+            return values.containsKey(variableName) ? Result.some(values.get(variableName)) : Result.none("[" +
+                    variableName + "] can not be resolved from the batch.");
+        }
+
+        @Override
+        protected Map<String, Result> resolveAll(Set<String> variableNames) {
+            batches.add(new LinkedHashSet<>(variableNames));
+            return super.resolveAll(variableNames);
+        }
+    }
 }
@@ -2,6 +2,7 @@ package io.github.tommy1199.appconfigr;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -17,4 +18,104 @@ public class VariablesTest {
         assertThat(variables).extracting("value", String.class)
                 .containsExactly("test", "blub");
     }
+
+    @Test
+    public void shouldIgnoreIncompleteVariables() {
+        String content = "${} ${not closed $${test}";
+
+        List<Variables.Expression> variables = Variables.find(content);
+
+        assertThat(variables).extracting("value", String.class)
+                .containsExactly("test");
+    }
+
+    @Test
+    public void shouldReplaceAllVariablesWithResolvedValues() {
+        String content = "a: ${first}\nb: ${second} and ${first}";
+
+        String replaced = Variables.replace(content, new MapResolver());
+
+        assertThat(replaced).isEqualTo("a: value of first\nb: value of second and value of first");
+    }
+
+    @Test
+    public void shouldInsertResolvedValuesLiterally() {
+        VariableResolver resolver = new VariableResolver() {
+            @Override
+            Result resolve(String variableName) {
+                return Result.some("$1 \\ ${other}");
+            }
+        };
+
+        String replaced = Variables.replace("secret: ${secret}", resolver);
+
+        assertThat(replaced).isEqualTo("secret: $1 \\ ${other}");
+    }
+
+    @Test
+    public void shouldResolveEachDistinctVariableOnlyOnce() {
+        MapResolver resolver = new MapResolver();
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("key").append(i).append(": ${variable").append(i % 10).append("}\n");
+        }
+
+        Variables.replace(content.toString(), resolver);
+
+        assertThat(resolver.requested).hasSize(10);
+    }
+
+    @Test
+    public void shouldFindDefaultValuesOfVariables() {
+        String content = "${test:-fallback value}, ${blub}, ${empty:-}";
+
+        List<Variables.Expression> variables = Variables.find(content);
+
+        assertThat(variables).containsExactly(new Variables.Expression("test", "fallback value"),
+                new Variables.Expression("blub"), new Variables.Expression("empty", ""));
+    }
+
+    @Test
+    public void shouldUseDefaultValueIfVariableCannotBeResolved() {
+        VariableResolver resolver = new VariableResolver() {
+            @Override
+            Result resolve(String variableName) {
+                return "known".equals(variableName) ? Result.some("resolved") : Result.none(variableName);
+            }
+        };
+
+        String replaced = Variables.replace("a: ${known:-unused}\nb: ${unknown:-http://localhost:8080}", resolver);
+
+        assertThat(replaced).isEqualTo("a: resolved\nb: http://localhost:8080");
+    }
+
+    @Test
+    public void shouldIgnoreDefaultValuesSpanningLines() {
+        String content = "${test:-not\nclosed} ${other}";
+
+        List<Variables.Expression> variables = Variables.find(content);
+
+        assertThat(variables).extracting("value", String.class)
+                .containsExactly("other");
+    }
+
+    @Test
+    public void shouldFindNamespacedVariables() {
+        String content = "${env:HOME}, ${file:/run/secrets/db:-none}, ${sys:}, ${plain:-x}";
+
+        List<Variables.Expression> variables = Variables.find(content);
+
+        assertThat(variables).containsExactly(new Variables.Expression("env:HOME"),
+                new Variables.Expression("file:/run/secrets/db", "none"), new Variables.Expression("plain", "x"));
+    }
+
+    private static class MapResolver extends VariableResolver {
+        private final List<String> requested = new ArrayList<>();
+
+        @Override
+        Result resolve(String variableName) {
+            requested.add(variableName);
+            return Result.some("value of " + variableName);
+        }
+    }
 }